@@ -29,7 +29,15 @@ public final DataSourceSpecifics & readonly MSSQL_SPECIFICS = {
     constraintViolationErrorMessage: "conflicted with the FOREIGN KEY constraint",
     duplicateEntryErrorMessage: "Cannot insert duplicate key",
     duplicateKeyStartIndicator: "The duplicate key value is (",
-    duplicateKeyEndIndicator: ").."
+    duplicateKeyEndIndicator: ")..",
+    supportsRowValueIn: false,
+    supportsRowValueComparison: false,
+    supportsLimit: false,
+    supportsLikeCharacterClass: true,
+    // The server accepts 2100 parameters per request, of which the `sp_prepexec` call of the driver takes two
+    maxBindParameters: 2098,
+    returningClause: OUTPUT_CLAUSE,
+    upsertStatement: MERGE_USING
 };
 
 public final DataSourceSpecifics & readonly POSTGRESQL_SPECIFICS = {
@@ -38,7 +46,10 @@ public final DataSourceSpecifics & readonly POSTGRESQL_SPECIFICS = {
     constraintViolationErrorMessage: "violates foreign key constraint",
     duplicateEntryErrorMessage: "duplicate key value violates unique constraint",
     duplicateKeyStartIndicator: "Detail: Key ",
-    duplicateKeyEndIndicator: " already exists."
+    duplicateKeyEndIndicator: " already exists.",
+    maxBindParameters: 32767,
+    returningClause: RETURNING_CLAUSE,
+    upsertStatement: ON_CONFLICT_DO_UPDATE
 };
 
 public final DataSourceSpecifics & readonly H2_SPECIFICS = {
@@ -47,5 +58,34 @@ public final DataSourceSpecifics & readonly H2_SPECIFICS = {
     constraintViolationErrorMessage: "Referential integrity constraint violation",
     duplicateEntryErrorMessage: "Unique index or primary key violation",
     duplicateKeyStartIndicator: "Unique index or primary key violation: \"",
-    duplicateKeyEndIndicator: " ON "
+    duplicateKeyEndIndicator: " ON ",
+    returningClause: DELTA_TABLE,
+    upsertStatement: MERGE_KEY
+};
+
+// Prefix of the aliases used to project the referenced columns of a 'many' side association, so that
+// the retrieved records can be matched back to their parent records.
+const JOIN_KEY_ALIAS_PREFIX = "persistJoinKey";
+
+// Prefix of the aliases used to project a referenced column of a joined association, so that the existence of
+// the associated entity can be decided from the result of the `LEFT JOIN`.
+const ASSOCIATION_KEY_ALIAS_PREFIX = "persistAssociationKey";
+
+// Subquery of an empty list in an `IN` predicate, as `IN ()` is not valid SQL
+const EMPTY_LIST_QUERY = "SELECT NULL WHERE 1 = 0";
+
+// Escape clause of the `LIKE` predicates generated by the compiler plugin
+const LIKE_ESCAPE_CLAUSE = "ESCAPE '!'";
+
+// Prefix of the fields used to retrieve an aggregate computed by the database, named as
+// `persistAggregate_<function>` or `persistAggregate_<function>_<field>` by the compiler plugin.
+const AGGREGATE_ALIAS_PREFIX = "persistAggregate";
+
+// SQL functions of the aggregates which can be computed by the database
+final readonly & map<string> AGGREGATE_FUNCTIONS = {
+    "count": "COUNT",
+    "sum": "SUM",
+    "avg": "AVG",
+    "max": "MAX",
+    "min": "MIN"
 };
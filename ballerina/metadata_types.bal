@@ -103,13 +103,60 @@ public type JoinMetadata record {|
 # + MANY_TO_ONE - The FK resides on the *related* entity's table, so multiple child records can
 #                 reference this entity. The corresponding field is an array type (e.g. `Department.employees`
 #                 where `Employee` holds `departmentDeptNo`). Fetched via a secondary `SELECT` query
-#                 issued per parent row.
+#                 issued per parent row, or per chunk of parent rows when reading records as a list.
 public enum JoinType {
     ONE_TO_ONE,
     ONE_TO_MANY,
     MANY_TO_ONE
 }
 
+# Represents the way a data source returns the record affected by an `UPDATE` or a `DELETE` statement.
+#
+# + RETURNING_CLAUSE - The statement returns the record with a `RETURNING` clause, e.g. PostgreSQL
+# + OUTPUT_CLAUSE - The statement returns the record with an `OUTPUT INSERTED.*` or `OUTPUT DELETED.*` clause,
+#                   e.g. MSSQL
+# + DELTA_TABLE - The record is selected from the `FINAL TABLE` or the `OLD TABLE` of the statement, e.g. H2
+# + NO_RETURNING_CLAUSE - The record is read with a further query, e.g. MySQL
+public enum ReturningClause {
+    RETURNING_CLAUSE,
+    OUTPUT_CLAUSE,
+    DELTA_TABLE,
+    NO_RETURNING_CLAUSE
+}
+
+# Represents the statement used by a data source to insert a record, or to update the record with the same key if
+# such a record exists.
+#
+# + ON_DUPLICATE_KEY_UPDATE - `INSERT ... VALUES (...) AS source ON DUPLICATE KEY UPDATE ...`, e.g. MySQL 8.0.19
+# or later
+# + ON_CONFLICT_DO_UPDATE - `INSERT ... ON CONFLICT (...) DO UPDATE SET ...`, e.g. PostgreSQL
+# + MERGE_USING - `MERGE INTO ... WITH (HOLDLOCK) USING (VALUES (...)) ... WHEN MATCHED ... WHEN NOT MATCHED ...`,
+# e.g. MSSQL
+# + MERGE_KEY - `MERGE INTO ... KEY (...) VALUES (...)`, which updates all the inserted columns, e.g. H2
+public enum UpsertStatement {
+    ON_DUPLICATE_KEY_UPDATE,
+    ON_CONFLICT_DO_UPDATE,
+    MERGE_USING,
+    MERGE_KEY
+}
+
+# Represents the data source specific properties used to construct and execute SQL queries.
+#
+# + quoteOpen - The character used to open a quoted identifier
+# + quoteClose - The character used to close a quoted identifier
+# + constraintViolationErrorMessage - The error message fragment used to identify foreign key constraint violations
+# + duplicateEntryErrorMessage - The error message fragment used to identify duplicate key violations
+# + duplicateKeyStartIndicator - The text preceding the duplicate key value in a duplicate key violation error message
+# + duplicateKeyEndIndicator - The text following the duplicate key value in a duplicate key violation error message
+# + supportsRowValueIn - Whether the data source supports row-value `IN` predicates such as `(a, b) IN ((?, ?))`
+# + supportsRowValueComparison - Whether the data source supports row-value comparisons such as `(a, b) > (?, ?)`
+# + supportsLimit - Whether the data source supports the `LIMIT` clause. Otherwise, `OFFSET 0 ROWS FETCH NEXT` is used
+# + supportsLikeCharacterClass - Whether `[...]` matches a character class in a `LIKE` pattern. If so, `[` is escaped
+# in the patterns generated by the compiler plugin so that it is matched literally
+# + maxBindParameters - The maximum number of bind parameters the data source accepts in a single statement
+# + maxInsertRows - The maximum number of rows inserted by a single multi-row `INSERT ... VALUES` statement
+# + returningClause - The way the data source returns the record affected by an `UPDATE` or a `DELETE` statement
+# + upsertStatement - The statement used to insert a record or update the record with the same key
 public type DataSourceSpecifics record {|
     string quoteOpen;
     string quoteClose;
@@ -117,4 +164,12 @@ public type DataSourceSpecifics record {|
     string duplicateEntryErrorMessage;
     string duplicateKeyStartIndicator;
     string duplicateKeyEndIndicator;
+    boolean supportsRowValueIn = true;
+    boolean supportsRowValueComparison = true;
+    boolean supportsLimit = true;
+    boolean supportsLikeCharacterClass = false;
+    int maxBindParameters = 65535;
+    int maxInsertRows = 1000;
+    ReturningClause returningClause = NO_RETURNING_CLAUSE;
+    UpsertStatement upsertStatement = ON_DUPLICATE_KEY_UPDATE;
 |};
@@ -13,6 +13,7 @@
 // KIND, either express or implied.  See the License for the
 // specific language governing permissions and limitations
 // under the License.
+import ballerina/lang.array;
 import ballerina/log;
 import ballerina/persist;
 import ballerina/sql;
@@ -30,13 +31,34 @@ public isolated client class SQLClient {
     private final string[] & readonly keyFields;
     private final map<JoinMetadata> & readonly joinMetadata;
     private final DataSourceSpecifics & readonly dataSourceSpecifics;
+    private final int relationBatchSize;
+    private final int streamPrefetchSize;
+    private final int queryCacheSize;
+    private final map<string> selectQueryCache = {};
+    private final map<string[] & readonly> readQueryCache = {};
+    private final string[] & readonly insertableFields;
+    private final string[] & readonly insertQueryStrings;
+    private final int insertRowsPerQuery;
+    private final MetadataIndex & readonly metadataIndex;
 
     # Initializes the `SQLClient`.
     #
     # + dbClient - The `sql:Client`, which is used to execute SQL queries
     # + metadata - Metadata of the entity
+    # + dataSourceSpecifics - The data source specific properties used to construct the SQL queries
+    # + configuration - The configurations used to tune the queries issued by the client
     # + return - A `persist:Error` if the client creation fails
-    public isolated function init(sql:Client dbClient, SQLMetadata & readonly metadata, DataSourceSpecifics & readonly dataSourceSpecifics = MYSQL_SPECIFICS) returns persist:Error? {
+    public isolated function init(sql:Client dbClient, SQLMetadata & readonly metadata, DataSourceSpecifics & readonly dataSourceSpecifics = MYSQL_SPECIFICS,
+            SQLClientConfiguration & readonly configuration = {}) returns persist:Error? {
+        if configuration.relationBatchSize < 1 {
+            return error persist:Error(string `Invalid relation batch size '${configuration.relationBatchSize}'. The batch size should be a positive integer.`);
+        }
+        if configuration.streamPrefetchSize < 1 {
+            return error persist:Error(string `Invalid stream prefetch size '${configuration.streamPrefetchSize}'. The prefetch size should be a positive integer.`);
+        }
+        if configuration.queryCacheSize < 0 {
+            return error persist:Error(string `Invalid query cache size '${configuration.queryCacheSize}'. The cache size should not be negative.`);
+        }
         self.entityName = metadata.entityName;
         self.tableName = metadata.tableName;
         self.fieldMetadata = metadata.fieldMetadata;
@@ -49,6 +71,30 @@ public isolated client class SQLClient {
             self.joinMetadata = {};
         }
         self.dataSourceSpecifics = dataSourceSpecifics;
+        self.relationBatchSize = configuration.relationBatchSize;
+        self.streamPrefetchSize = configuration.streamPrefetchSize;
+        self.queryCacheSize = configuration.queryCacheSize;
+
+        // The column list and the placeholders of the `INSERT` query are fixed per entity, hence they are computed
+        // once and each record only binds its values.
+        string[] insertableFields = from string key in metadata.fieldMetadata.keys()
+            let FieldMetadata metadataField = metadata.fieldMetadata.get(key)
+            where metadataField is SimpleFieldMetadata && !metadataField.dbGenerated
+            select key;
+        self.insertableFields = insertableFields.cloneReadOnly();
+        self.insertQueryStrings = getInsertQueryStrings(metadata, dataSourceSpecifics, insertableFields).cloneReadOnly();
+
+        // A multi-row `INSERT` only reports the generated key of a single row, hence entities with database
+        // generated fields keep using one statement per record.
+        boolean hasDbGeneratedFields = metadata.fieldMetadata.toArray().some(
+            isolated function(FieldMetadata fieldMetadata) returns boolean => fieldMetadata is SimpleFieldMetadata && fieldMetadata.dbGenerated);
+        if configuration.multiRowInsert && !hasDbGeneratedFields && insertableFields.length() > 0 {
+            self.insertRowsPerQuery = int:max(1, int:min(dataSourceSpecifics.maxInsertRows,
+                dataSourceSpecifics.maxBindParameters / insertableFields.length()));
+        } else {
+            self.insertRowsPerQuery = 1;
+        }
+        self.metadataIndex = getMetadataIndex(metadata, self.joinMetadata, dataSourceSpecifics).cloneReadOnly();
     }
 
     # Performs a batch SQL `INSERT` operation to insert entity instances into a table.
@@ -57,22 +103,154 @@ public isolated client class SQLClient {
     # + return - An `sql:ExecutionResult[]` containing the metadata of the query execution
     # or a `persist:Error` if the operation fails
     public isolated function runBatchInsertQuery(record {}[] insertRecords) returns sql:ExecutionResult[]|persist:Error {
+        if self.insertRowsPerQuery > 1 && insertRecords.length() > 1 {
+            return self.runMultiRowInsertQuery(insertRecords);
+        }
+
         sql:ParameterizedQuery[] insertQueries = self.getInsertQueries(insertRecords);
         logQuery("SQL insert query: ", insertQueries);
         sql:ExecutionResult[]|sql:Error result = self.dbClient->batchExecute(insertQueries);
 
         if result is sql:Error {
-            if result.message().indexOf(self.dataSourceSpecifics.duplicateEntryErrorMessage) != () {
-                string duplicateKey = check getKeyFromAlreadyExistsErrorMessage(result.message(), self.dataSourceSpecifics.duplicateKeyStartIndicator, self.dataSourceSpecifics.duplicateKeyEndIndicator);
-                return persist:getAlreadyExistsError(self.entityName, duplicateKey);
+            return self.getInsertError(result);
+        }
+
+        return result;
+    }
+
+    // Inserts the records with multi-row `INSERT` statements. As such a statement inserts either all or none of its
+    // rows, an execution result is reported for each of the inserted records.
+    private isolated function runMultiRowInsertQuery(record {}[] insertRecords) returns sql:ExecutionResult[]|persist:Error {
+        sql:ExecutionResult[] results = [];
+        int startIndex = 0;
+        while startIndex < insertRecords.length() {
+            int endIndex = int:min(startIndex + self.insertRowsPerQuery, insertRecords.length());
+            sql:ParameterizedQuery query = self.getMultiRowInsertQuery(insertRecords.slice(startIndex, endIndex));
+            logQuery("SQL insert query: ", query);
+            sql:ExecutionResult|sql:Error result = self.dbClient->execute(query);
+
+            if result is sql:Error {
+                return self.getInsertError(result);
             }
 
-            return <persist:Error>error(result.message());
+            foreach int i in startIndex ..< endIndex {
+                results.push({affectedRowCount: 1, lastInsertId: ()});
+            }
+            startIndex = endIndex;
+        }
+        return results;
+    }
+
+    # Performs a batch SQL upsert operation, which inserts each record or updates the record with the same key if
+    # such a record exists. Each record is written with a single statement as per the `upsertStatement` of the
+    # data source, instead of reading the record to decide between an insert and an update.
+    #
+    # + upsertRecords - The entity records to be inserted or updated
+    # + updateFields - The fields updated when a record with the same key exists. All the fields except the key
+    #                  fields are updated by default. The data sources which use `MERGE_KEY` update all the fields,
+    #                  hence the update fields cannot be given for them
+    # + return - An `sql:ExecutionResult[]` containing the metadata of the query execution
+    # or a `persist:Error` if the operation fails
+    public isolated function runBatchUpsertQuery(record {}[] upsertRecords, string[]? updateFields = ())
+            returns sql:ExecutionResult[]|persist:Error {
+        if upsertRecords.length() == 0 {
+            return [];
+        }
+        string[] upsertQueryStrings = check self.getUpsertQueryStrings(updateFields);
+        sql:ParameterizedQuery[] upsertQueries = from record {} upsertRecord in upsertRecords
+            select toParameterizedQuery(upsertQueryStrings, self.getInsertQueryValues(upsertRecord));
+        logQuery("SQL upsert query: ", upsertQueries);
+        sql:ExecutionResult[]|sql:Error result = self.dbClient->batchExecute(upsertQueries);
+
+        if result is sql:Error {
+            if result.message().indexOf(self.dataSourceSpecifics.constraintViolationErrorMessage) is int {
+                return <persist:ConstraintViolationError>error(result.message());
+            }
+            return self.getInsertError(result);
         }
 
         return result;
     }
 
+    // Returns the fragments of the upsert statement that surround the values of a record, in the order of the
+    // insertable fields as in the `INSERT` statement.
+    private isolated function getUpsertQueryStrings(string[]? updateFields) returns string[]|persist:Error {
+        foreach string keyField in self.keyFields {
+            if self.insertableFields.indexOf(keyField) is () {
+                return <persist:Error>error(string `The entity '${self.entityName}' cannot be upserted as its key is generated by the database.`);
+            }
+        }
+        string[] updateColumns = [];
+        foreach string 'field in updateFields ?: self.insertableFields {
+            if self.metadataIndex.keyFields.hasKey('field) {
+                if updateFields is () {
+                    continue;
+                }
+                return <persist:Error>error(string `The key field '${'field}' of the entity '${self.entityName}' cannot be updated.`);
+            }
+            if self.insertableFields.indexOf('field) is () {
+                return <persist:Error>error(string `The field '${'field}' of the entity '${self.entityName}' cannot be updated.`);
+            }
+            updateColumns.push(self.escape(self.getColumnFromField('field)));
+        }
+        string[] columns = from string 'field in self.insertableFields
+            select self.escape(self.getColumnFromField('field));
+        string[] keyColumns = from string keyField in self.keyFields
+            select self.escape(self.getColumnFromField(keyField));
+
+        string[] strings = [...self.insertQueryStrings];
+        int lastIndex = strings.length() - 1;
+        match self.dataSourceSpecifics.upsertStatement {
+            ON_DUPLICATE_KEY_UPDATE => {
+                // A key column is assigned to itself when no column is updated, so that an existing record is kept.
+                // The inserted values are referred through the row alias, as the `VALUES` function is deprecated
+                string[] assignments = from string column in (updateColumns.length() > 0 ? updateColumns : [keyColumns[0]])
+                    select string `${column} = source.${column}`;
+                strings[lastIndex] += " AS source ON DUPLICATE KEY UPDATE " + string:'join(", ", ...assignments);
+            }
+            ON_CONFLICT_DO_UPDATE => {
+                string[] assignments = from string column in updateColumns
+                    select string `${column} = EXCLUDED.${column}`;
+                strings[lastIndex] += string ` ON CONFLICT (${string:'join(", ", ...keyColumns)}) `
+                    + (assignments.length() > 0 ? "DO UPDATE SET " + string:'join(", ", ...assignments) : "DO NOTHING");
+            }
+            MERGE_USING => {
+                string[] keyConditions = from string column in keyColumns
+                    select string `target.${column} = source.${column}`;
+                string[] assignments = from string column in updateColumns
+                    select string `${column} = source.${column}`;
+                string[] sourceColumns = from string column in columns
+                    select "source." + column;
+                // The key range is locked so that concurrent upserts of the same key do not both insert the record
+                strings[0] = string `MERGE INTO ${self.getTableName()} WITH (HOLDLOCK) AS target USING (VALUES (`
+                    + strings[0].substring(<int>strings[0].lastIndexOf("(") + 1);
+                strings[lastIndex] += string `) AS source (${string:'join(", ", ...columns)}) ON ${string:'join(" AND ", ...keyConditions)}`
+                    + (assignments.length() > 0 ? " WHEN MATCHED THEN UPDATE SET " + string:'join(", ", ...assignments) : "")
+                    + string ` WHEN NOT MATCHED THEN INSERT (${string:'join(", ", ...columns)}) VALUES (${string:'join(", ", ...sourceColumns)});`;
+            }
+            MERGE_KEY => {
+                if updateFields !is () {
+                    return <persist:Error>error(string `The update fields of the entity '${self.entityName}' cannot be given as the data source updates all the fields of an upserted record.`);
+                }
+                strings[0] = string `MERGE INTO ${self.getTableName()} (${string:'join(", ", ...columns)}) KEY (${string:'join(", ", ...keyColumns)}) VALUES (`
+                    + strings[0].substring(<int>strings[0].lastIndexOf("(") + 1);
+            }
+        }
+        return strings;
+    }
+
+    private isolated function getInsertError(sql:Error err) returns persist:Error {
+        if err.message().indexOf(self.dataSourceSpecifics.duplicateEntryErrorMessage) != () {
+            string|persist:Error duplicateKey = getKeyFromAlreadyExistsErrorMessage(err.message(), self.dataSourceSpecifics.duplicateKeyStartIndicator, self.dataSourceSpecifics.duplicateKeyEndIndicator);
+            if duplicateKey is persist:Error {
+                return duplicateKey;
+            }
+            return persist:getAlreadyExistsError(self.entityName, duplicateKey);
+        }
+
+        return <persist:Error>error(err.message());
+    }
+
     # Performs an SQL `SELECT` operation to read a single entity record from the database.
     #
     # + rowType - The type description of the entity to be retrieved
@@ -83,12 +261,7 @@ public isolated client class SQLClient {
     # + typeDescriptions - The type descriptions of the relations to be retrieved
     # + return - A record in the `rowType` type or a `persist:Error` if the operation fails
     public isolated function runReadByKeyQuery(typedesc<record {}> rowType, typedesc<record {}> rowTypeWithIdFields, anydata key, string[] fields = [], string[] include = [], typedesc<record {}>[] typeDescriptions = []) returns record {}|persist:Error {
-        sql:ParameterizedQuery query = self.getSelectQuery(self.getSelectableFields(fields));
-
-        foreach string joinKey in self.getJoinFields(include) {
-            query = sql:queryConcat(query, check self.getJoinQuery(joinKey));
-        }
-
+        sql:ParameterizedQuery query = stringToParameterizedQuery(check self.getSelectQueryPrefix(fields, include, true, false));
         query = sql:queryConcat(query, check self.getWhereQuery(key));
 
         logQuery("SQL select query: ", query);
@@ -112,6 +285,119 @@ public isolated client class SQLClient {
         return result;
     }
 
+    # Performs SQL `SELECT` operations to read the entity records with the given keys. The records are read with a
+    # `WHERE key IN (...)` query, or a row-value `IN` for composite keys, per chunk of at most `relationBatchSize`
+    # distinct keys within the bind parameter limit of the data source, instead of a query per key.
+    #
+    # + rowsType - The type description of the array of entities to be retrieved
+    # + rowType - The type description of the entity to be retrieved
+    # + rowTypeWithIdFields - The type description of the entity to be retrieved with the key fields included
+    # + keys - The values of the keys. A composite key is given as a record of the key fields
+    # + fields - The fields to be retrieved
+    # + include - The relations to be retrieved (SQL `JOINs` to be performed)
+    # + typeDescriptions - The type descriptions of the relations to be retrieved
+    # + return - The records of the keys in the order of the keys and the keys which do not exist,
+    # or a `persist:Error` if the operation fails
+    public isolated function runReadByKeysQuery(typedesc<record {}[]> rowsType, typedesc<record {}> rowType,
+            typedesc<record {}> rowTypeWithIdFields, anydata[] keys, string[] fields = [], string[] include = [],
+            typedesc<record {}>[] typeDescriptions = []) returns KeyedRecords|persist:Error {
+        // The key fields are retained to match the records with the keys
+        string[] keyedFields = [...fields];
+        foreach string keyField in self.keyFields {
+            if keyedFields.indexOf(keyField) is () {
+                keyedFields.push(keyField);
+            }
+        }
+        map<anydata> distinctKeys = {};
+        map<anydata[]> keyValues = {};
+        map<string[]> foldedKeys = {};
+        foreach anydata key in keys {
+            anydata[] values = self.getKeyValues(self.getKey(key));
+            string exactKey = values.toString();
+            if keyValues.hasKey(exactKey) {
+                continue;
+            }
+            distinctKeys[exactKey] = key;
+            keyValues[exactKey] = values;
+            string foldedKey = getFoldedKey(values);
+            string[]? sameFoldedKeys = foldedKeys[foldedKey];
+            if sameFoldedKeys is () {
+                foldedKeys[foldedKey] = [exactKey];
+            } else {
+                sameFoldedKeys.push(exactKey);
+            }
+        }
+
+        // The database matches the keys as per its collation, e.g. case-insensitively or regardless of the decimal
+        // scale, so the rows are assigned to the keys of the same folded key values. The keys whose folded values are
+        // shared by other keys, e.g. "A" and "a", cannot be told apart without knowing the collation, and a row which
+        // matches no key by its folded values was matched by a rule which is not folded, e.g. an accent-insensitive
+        // collation. Those keys, or all the keys respectively, are read with a query per key instead. The `IN` lists
+        // vary in length, hence their queries are not cached.
+        anydata[][] distinctKeyValues = keyValues.toArray();
+        string[] keyColumns = self.getKeyColumns();
+        int chunkSize = self.getKeyChunkSize();
+        map<record {}> keyedRows = {};
+        string[] unresolvedKeys = [];
+        boolean hasUnassignedRows = false;
+        int startIndex = 0;
+        while startIndex < distinctKeyValues.length() && !hasUnassignedRows {
+            int endIndex = int:min(startIndex + chunkSize, distinctKeyValues.length());
+            record {}[] chunkRows = check self.readQueryAsList(EntityRows, rowTypeWithIdFields, keyedFields, include,
+                self.getInClause(keyColumns, distinctKeyValues.slice(startIndex, endIndex)), ``, ``,
+                typeDescriptions, false);
+            foreach record {} row in chunkRows {
+                string[]? matchedKeys = foldedKeys[getFoldedKey(self.getKeyValues(row))];
+                if matchedKeys is () {
+                    hasUnassignedRows = true;
+                    break;
+                }
+                if matchedKeys.length() > 1 {
+                    foreach string exactKey in matchedKeys {
+                        if unresolvedKeys.indexOf(exactKey) is () {
+                            unresolvedKeys.push(exactKey);
+                        }
+                    }
+                    continue;
+                }
+                keyedRows[matchedKeys[0]] = row;
+            }
+            startIndex = endIndex;
+        }
+        if hasUnassignedRows {
+            keyedRows = {};
+            unresolvedKeys = distinctKeys.keys();
+        }
+        foreach string exactKey in unresolvedKeys {
+            record {}|persist:Error row = self.runReadByKeyQuery(rowTypeWithIdFields, rowTypeWithIdFields,
+                distinctKeys.get(exactKey), keyedFields, include, typeDescriptions);
+            if row is record {} {
+                keyedRows[exactKey] = row;
+            } else if row !is persist:NotFoundError {
+                return row;
+            }
+        }
+
+        record {}[] rows = [];
+        anydata[] missingKeys = [];
+        foreach anydata key in keys {
+            record {}? row = keyedRows[self.getKeyValues(self.getKey(key)).toString()];
+            if row is () {
+                missingKeys.push(key);
+            } else {
+                rows.push(row);
+            }
+        }
+        foreach record {} row in keyedRows {
+            self.removeUnwantedFields(row, fields);
+        }
+        record {}[]|error records = rows.cloneWithType(rowsType);
+        if records is error {
+            return <persist:Error>error(records.message());
+        }
+        return {records, missingKeys};
+    }
+
     # Performs an SQL `SELECT` operation to read multiple entity records from the database.
     #
     # + rowType - The type description of the entity to be retrieved
@@ -120,40 +406,36 @@ public isolated client class SQLClient {
     # + whereClause - The `WHERE` clause of the query
     # + orderByClause - The `ORDER BY` clause of the query
     # + limitClause - The `LIMIT` clause of the query
-    # + groupByClause - The `GROUP BY` clause of the query
+    # + groupByClause - The `GROUP BY` clause of the query. The fields prefixed by `persistAggregate` are retrieved as
+    # the aggregates of the groups, e.g. `persistAggregate_count_id` as `COUNT(id)`
     # + return - A stream of records in the `rowType` type or a `persist:Error` if the operation fails
     public isolated function runReadQuery(typedesc<record {}> rowType, string[] fields = [], string[] include = [],
             sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``,
             sql:ParameterizedQuery limitClause = ``, sql:ParameterizedQuery groupByClause = ``)
                         returns stream<record {}, sql:Error?>|persist:Error|error {
-        sql:ParameterizedQuery query;
-        if self.getManyRelationFields(include).length() > 0 {
-            query = self.getSelectQuery(self.getSelectableFields(fields));
-        } else {
-            query = self.getSelectQuery(self.getSelectableFieldsForNonManyRelation(fields));
-        }
-        foreach string joinKey in self.getJoinFields(include) {
-            query = sql:queryConcat(query, check self.getJoinQuery(joinKey));
-        }
-        if (whereClause.strings.length() != 0) {
-            query = sql:queryConcat(query, ` WHERE `, whereClause);
-        }
-        if (groupByClause.strings.length() != 0) {
-            query = addClauseToQuery(query, groupByClause, ` GROUP BY `);
-        }
-        if (orderByClause.strings.length() != 0) {
-            query = addClauseToQuery(query, orderByClause, ` ORDER BY `);
-        }
-        if (limitClause.strings.length() != 0) {
-            if (limitClause.insertions.length() != 0) {
-                string queryInString = "LIMIT " + limitClause.strings[0] + limitClause.insertions[0].toString();
-                query = sql:queryConcat(query, stringToParameterizedQuery(queryInString));
-            } else {
-                query = sql:queryConcat(query, ` LIMIT `, limitClause);
-            }
+        return self.readQuery(rowType, fields, include, whereClause, orderByClause, limitClause, groupByClause, true);
+    }
+
+    private isolated function readQuery(typedesc<record {}> rowType, string[] fields, string[] include,
+            sql:ParameterizedQuery whereClause, sql:ParameterizedQuery orderByClause,
+            sql:ParameterizedQuery limitClause, sql:ParameterizedQuery groupByClause, boolean isCacheable)
+                returns stream<record {}, sql:Error?>|persist:Error|error {
+        // The referenced columns of the joined tables are projected as association keys so that
+        // `verifyEntityAssociation` can decide whether an associated entity exists without a further query.
+        // Grouped queries cannot project them, hence the association is verified with a query in that case.
+        boolean projectAssociationKeys = groupByClause.strings.length() == 0;
+        string[] associationJoinFields = projectAssociationKeys ? self.getJoinFields(include) : [];
+        typedesc<record {}> rowTypeWithAssociationKeys = rowType;
+        if associationJoinFields.length() > 0 {
+            string[] associationKeyAliases = from string joinKey in associationJoinFields
+                select getAssociationKeyAlias(joinKey);
+            rowTypeWithAssociationKeys = getTypedescWithOptionalFields(rowType, associationKeyAliases);
         }
+
+        sql:ParameterizedQuery query = check self.getReadQuery(fields, include, projectAssociationKeys,
+            self.escapeLikePatterns(whereClause), orderByClause, limitClause, groupByClause, isCacheable);
         logQuery("SQL select query : ", query);
-        stream<record {}, sql:Error?> resultStream = self.dbClient->query(query, rowType);
+        stream<record {}, sql:Error?> resultStream = self.dbClient->query(query, rowTypeWithAssociationKeys);
         return resultStream;
     }
 
@@ -174,20 +456,29 @@ public isolated client class SQLClient {
             sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``,
             sql:ParameterizedQuery limitClause = ``, typedesc<record {}>[] typeDescriptions = [])
                 returns record {}[]|persist:Error {
+        return self.readQueryAsList(rowsType, rowTypeWithIdFields, fields, include, whereClause, orderByClause,
+            limitClause, typeDescriptions, true);
+    }
+
+    private isolated function readQueryAsList(typedesc<record {}[]> rowsType, typedesc<record {}> rowTypeWithIdFields,
+            string[] fields, string[] include, sql:ParameterizedQuery whereClause,
+            sql:ParameterizedQuery orderByClause, sql:ParameterizedQuery limitClause,
+            typedesc<record {}>[] typeDescriptions, boolean isCacheable) returns record {}[]|persist:Error {
         do {
-            stream<record {}, sql:Error?> result = check self.runReadQuery(rowTypeWithIdFields, fields, include,
-                whereClause, orderByClause, limitClause);
-
-            // Wrap the raw SQL stream in a PersistSQLStream so that getManyRelations,
-            // verifyEntityAssociation, and key-field removal are applied per row — identical
-            // to the behaviour of the streaming path in SQLProcessor.query / PersistSQLStream.next().
-            // TODO: consider batching secondary queries with WHERE FK IN (...) when rows is large.
-            PersistSQLStream persistStreamObj = new (result, rowType, fields, include, typeDescriptions, self);
-            stream<record {}, persist:Error?> persistStream = new (persistStreamObj);
-            record {}[] rows = check from record {} row in persistStream
+            stream<record {}, sql:Error?> result = check self.readQuery(rowTypeWithIdFields, fields, include,
+                whereClause, orderByClause, limitClause, ``, isCacheable);
+            record {}[] rows = check from record {} row in result
                 select row;
-            rows = check rows.cloneWithType(rowsType);
-            return rows;
+
+            // The 'many' side of the associations is retrieved for chunks of rows with `WHERE ... IN` queries
+            // instead of a secondary query per row. The association verification and the key-field removal
+            // are applied per row, identical to the behaviour of the streaming path in `PersistSQLStream.next()`.
+            check self.getManyRelationsInBatches(rows, fields, include, typeDescriptions);
+            foreach record {} row in rows {
+                check self.verifyEntityAssociation(row, fields, include);
+                self.removeUnwantedFields(row, fields);
+            }
+            return check rows.cloneWithType(rowsType);
         } on fail error err {
             if err is persist:Error {
                 return err;
@@ -196,6 +487,74 @@ public isolated client class SQLClient {
         }
     }
 
+    # Performs an SQL `SELECT` operation to read a page of entity records ordered by the given fields followed by the
+    # key fields of the entity, which make the order total. A following page is located by comparing the ordering
+    # fields with their values in the last record of the previous page (keyset pagination), so the database seeks an
+    # index of the ordering fields instead of skipping the previous pages. The ordering fields should not be optional,
+    # as a record with a `()` value cannot be compared with.
+    #
+    # + rowsType - The type description of the array of entities to be retrieved
+    # + rowType - The type description of the entity to be retrieved
+    # + rowTypeWithIdFields - The type description of the entity to be retrieved with the key fields and the ordering
+    #                         fields included
+    # + pageSize - The maximum number of records in the page
+    # + cursor - The `nextCursor` of the previous page, or `()` to read the first page
+    # + fields - The fields to be retrieved
+    # + include - The associations to be retrieved
+    # + whereClause - The `WHERE` clause of the query
+    # + orderBy - The fields by which the records are ordered before the key fields
+    # + typeDescriptions - The type descriptions of the relations to be retrieved
+    # + return - The page of records and the cursor of the following page, or a `persist:Error` if the operation fails
+    public isolated function runReadPageQuery(typedesc<record {}[]> rowsType, typedesc<record {}> rowType,
+            typedesc<record {}> rowTypeWithIdFields, int pageSize, string? cursor = (), string[] fields = [],
+            string[] include = [], sql:ParameterizedQuery whereClause = ``, OrderByField[] orderBy = [],
+            typedesc<record {}>[] typeDescriptions = []) returns Page|persist:Error {
+        if pageSize < 1 {
+            return error persist:Error(string `Invalid page size '${pageSize}'. The page size should be a positive integer.`);
+        }
+        OrderByField[] sortFields = check self.getPageSortFields(orderBy);
+
+        sql:ParameterizedQuery pageWhereClause = whereClause;
+        if cursor is string {
+            sql:ParameterizedQuery keysetPredicate = self.getKeysetPredicate(sortFields,
+                check self.getCursorValues(cursor, sortFields.length()));
+            pageWhereClause = whereClause.strings.length() == 0 ? keysetPredicate
+                : sql:queryConcat(`(`, whereClause, `) AND `, keysetPredicate);
+        }
+        string[] orderByColumns = from OrderByField sortField in sortFields
+            select string `${self.getPageSortColumn(sortField)} ${sortField.descending ? "DESC" : "ASC"}`;
+        sql:ParameterizedQuery orderByClause = stringToParameterizedQuery(string:'join(", ", ...orderByColumns) + " ");
+
+        // The ordering fields are retained to derive the cursor, and a record more than the page size is read to
+        // find out whether a following page exists.
+        string[] pageFields = [...fields];
+        foreach OrderByField sortField in sortFields {
+            if pageFields.indexOf(sortField.'field) is () {
+                pageFields.push(sortField.'field);
+            }
+        }
+        record {}[] rows = check self.runReadQueryAsList(EntityRows, rowType, rowTypeWithIdFields, pageFields,
+            include, pageWhereClause, orderByClause, `${pageSize + 1}`, typeDescriptions);
+
+        string? nextCursor = ();
+        if rows.length() > pageSize {
+            rows = rows.slice(0, pageSize);
+            nextCursor = check self.getCursor(rows[pageSize - 1], sortFields);
+        }
+        foreach record {} row in rows {
+            foreach OrderByField sortField in sortFields {
+                if fields.indexOf(sortField.'field) is () {
+                    _ = row.removeIfHasKey(sortField.'field);
+                }
+            }
+        }
+        record {}[]|error records = rows.cloneWithType(rowsType);
+        if records is error {
+            return <persist:Error>error(records.message());
+        }
+        return {records, nextCursor};
+    }
+
     # Performs an SQL `UPDATE` operation to update multiple entity records in the database.
     #
     # + key - the key of the entity
@@ -218,6 +577,74 @@ public isolated client class SQLClient {
         }
     }
 
+    # Performs an SQL `UPDATE` operation to update an entity record and returns the updated record. The record is
+    # returned by the `UPDATE` statement as per the `returningClause` of the data source, and read with a further
+    # query if the data source cannot return it.
+    #
+    # + rowType - The type description of the entity to be returned
+    # + key - The key of the entity
+    # + updateRecord - The record to be updated
+    # + return - The updated record in the `rowType` type.
+    # A `persist:NotFoundError` if a record with the key does not exist.
+    # A `persist:ConstraintViolationError` if the operation violates a foreign key constraint.
+    # A `persist:Error` if the operation fails due to another reason.
+    public isolated function runUpdateReturningQuery(typedesc<record {}> rowType, anydata key, record {} updateRecord)
+            returns record {}|persist:Error {
+        ReturningClause returningClause = self.dataSourceSpecifics.returningClause;
+        if returningClause == NO_RETURNING_CLAUSE {
+            check self.runUpdateQuery(key, updateRecord);
+            return self.runReadByKeyQuery(rowType, rowType, key, self.metadataIndex.simpleFields);
+        }
+
+        sql:ParameterizedQuery whereQuery = check self.getWhereQuery(self.getKey(key));
+        sql:ParameterizedQuery query;
+        if returningClause == OUTPUT_CLAUSE {
+            query = sql:queryConcat(check self.getUpdateQuery(updateRecord, sql:queryConcat(` OUTPUT `, self.getReturningColumns("INSERTED."))), whereQuery);
+        } else {
+            query = sql:queryConcat(check self.getUpdateQuery(updateRecord), whereQuery);
+            query = self.getReturningQuery(query, "FINAL");
+        }
+        logQuery("SQL update query: ", query);
+        record {}|sql:Error result = self.dbClient->queryRow(query, rowType);
+        if result is sql:NoRowsError {
+            return persist:getNotFoundError(self.entityName, key);
+        }
+        if result is sql:Error {
+            if result.message().indexOf(self.dataSourceSpecifics.constraintViolationErrorMessage) is int {
+                return <persist:ConstraintViolationError>error(result.message());
+            }
+            return <persist:Error>error(result.message());
+        }
+        return result;
+    }
+
+    # Performs an SQL `UPDATE` operation to update all the entity records which match the given filter, as a
+    # single statement.
+    #
+    # + updateRecord - The record to be updated
+    # + whereClause - The filter of the records to be updated, in the format of the `whereClause` of a read query.
+    # An empty filter is rejected so that the records of the entity are not all updated by mistake
+    # + return - The number of the updated records.
+    # A `persist:ConstraintViolationError` if the operation violates a foreign key constraint.
+    # A `persist:Error` if the filter is empty or the operation fails due to another reason.
+    public isolated function runUpdateWhereQuery(record {} updateRecord, sql:ParameterizedQuery whereClause)
+            returns int|persist:Error {
+        if isEmptyQuery(whereClause) {
+            return <persist:Error>error(string `The where clause of the update of the entity '${self.entityName}' cannot be empty.`);
+        }
+        sql:ParameterizedQuery query = sql:queryConcat(check self.getUpdateQuery(updateRecord), ` WHERE `,
+            expandListInsertions(self.escapeLikePatterns(whereClause)));
+        logQuery("SQL update query: ", query);
+        sql:ExecutionResult|sql:Error result = self.dbClient->execute(query);
+        if result is sql:Error {
+            if result.message().indexOf(self.dataSourceSpecifics.constraintViolationErrorMessage) is int {
+                return <persist:ConstraintViolationError>error(result.message());
+            }
+            return <persist:Error>error(result.message());
+        }
+        return result.affectedRowCount ?: 0;
+    }
+
     # Performs an SQL `DELETE` operation to delete an entity record from the database.
     #
     # + deleteKey - The key used to delete an entity record
@@ -233,6 +660,89 @@ public isolated client class SQLClient {
         }
     }
 
+    # Performs an SQL `DELETE` operation to delete an entity record and returns the deleted record. The record is
+    # returned by the `DELETE` statement as per the `returningClause` of the data source, and read before the
+    # record is deleted if the data source cannot return it.
+    #
+    # + rowType - The type description of the entity to be returned
+    # + deleteKey - The key used to delete an entity record
+    # + return - The deleted record in the `rowType` type.
+    # A `persist:NotFoundError` if a record with the key does not exist.
+    # A `persist:Error` if the operation fails due to another reason.
+    public isolated function runDeleteReturningQuery(typedesc<record {}> rowType, anydata deleteKey)
+            returns record {}|persist:Error {
+        ReturningClause returningClause = self.dataSourceSpecifics.returningClause;
+        if returningClause == NO_RETURNING_CLAUSE {
+            record {} result = check self.runReadByKeyQuery(rowType, rowType, deleteKey, self.metadataIndex.simpleFields);
+            check self.runDeleteQuery(deleteKey);
+            return result;
+        }
+
+        sql:ParameterizedQuery whereQuery = check self.getWhereQuery(deleteKey);
+        sql:ParameterizedQuery query;
+        if returningClause == OUTPUT_CLAUSE {
+            query = sql:queryConcat(self.getDeleteQuery(sql:queryConcat(` OUTPUT `, self.getReturningColumns("DELETED."))), whereQuery);
+        } else {
+            query = self.getReturningQuery(sql:queryConcat(self.getDeleteQuery(), whereQuery), "OLD");
+        }
+        logQuery("SQL delete query: ", query);
+        record {}|sql:Error result = self.dbClient->queryRow(query, rowType);
+        if result is sql:NoRowsError {
+            return persist:getNotFoundError(self.entityName, deleteKey);
+        }
+        if result is sql:Error {
+            return <persist:Error>error(result.message());
+        }
+        return result;
+    }
+
+    # Performs an SQL `DELETE` operation to delete all the entity records which match the given filter, as a
+    # single statement. The deleted records are not retrieved.
+    #
+    # + whereClause - The filter of the records to be deleted, in the format of the `whereClause` of a read query.
+    # An empty filter is rejected so that the records of the entity are not all deleted by mistake
+    # + return - The number of the deleted records or a `persist:Error` if the filter is empty or the operation fails
+    public isolated function runDeleteWhereQuery(sql:ParameterizedQuery whereClause) returns int|persist:Error {
+        if isEmptyQuery(whereClause) {
+            return <persist:Error>error(string `The where clause of the delete of the entity '${self.entityName}' cannot be empty.`);
+        }
+        sql:ParameterizedQuery query = sql:queryConcat(self.getDeleteQuery(), ` WHERE `,
+            expandListInsertions(self.escapeLikePatterns(whereClause)));
+        return self.executeDeleteQuery(query);
+    }
+
+    # Performs SQL `DELETE` operations to delete the entity records with the given keys. The records are deleted
+    # with a `WHERE key IN (...)` statement, or a row-value `IN` for composite keys, per chunk of at most
+    # `relationBatchSize` keys within the bind parameter limit of the data source. The deleted records are not
+    # retrieved.
+    #
+    # + deleteKeys - The keys of the records to be deleted. The keys which do not exist are ignored
+    # + return - The number of the deleted records or a `persist:Error` if the operation fails
+    public isolated function runBatchDeleteQuery(anydata[] deleteKeys) returns int|persist:Error {
+        string[] keyColumns = self.getKeyColumns();
+        int chunkSize = self.getKeyChunkSize();
+        int deletedCount = 0;
+        int startIndex = 0;
+        while startIndex < deleteKeys.length() {
+            int endIndex = int:min(startIndex + chunkSize, deleteKeys.length());
+            anydata[][] keyValues = from anydata deleteKey in deleteKeys.slice(startIndex, endIndex)
+                select self.getKeyValues(self.getKey(deleteKey));
+            deletedCount += check self.executeDeleteQuery(
+                sql:queryConcat(self.getDeleteQuery(), ` WHERE `, self.getInClause(keyColumns, keyValues)));
+            startIndex = endIndex;
+        }
+        return deletedCount;
+    }
+
+    private isolated function executeDeleteQuery(sql:ParameterizedQuery query) returns int|persist:Error {
+        logQuery("SQL delete query: ", query);
+        sql:ExecutionResult|sql:Error result = self.dbClient->execute(query);
+        if result is sql:Error {
+            return <persist:Error>error(result.message());
+        }
+        return result.affectedRowCount ?: 0;
+    }
+
     # Retrieves the values of the 'many' side of an association.
     #
     # + 'object - The record to which the retrieved records should be appended
@@ -246,27 +756,68 @@ public isolated client class SQLClient {
         }
 
         foreach string joinKey in self.getManyRelationFields(include) {
-            sql:ParameterizedQuery query = ``;
-            JoinMetadata joinMetadata = self.joinMetadata.get(joinKey);
+            check self.getManyRelation('object, self.joinMetadata.get(joinKey),
+                self.getJoinRelationTypedescription(typeDescriptions, include, joinKey), fields);
+        }
+    }
 
-            map<string> whereFilter = check self.getManyRelationWhereFilter('object, joinMetadata);
-            typedesc<record {}> joinRelationTypedesc = self.getJoinRelationTypedescription(typeDescriptions, include, joinKey);
+    // Retrieves the values of the 'many' side of an association of a record with a query of its own
+    private isolated function getManyRelation(record {} 'object, JoinMetadata joinMetadata,
+            typedesc<record {}> joinRelationTypedesc, string[] fields) returns persist:Error? {
+        map<anydata> whereFilter = check self.getManyRelationWhereFilter('object, joinMetadata);
+        sql:ParameterizedQuery query = sql:queryConcat(
+            ` SELECT `, self.getManyRelationColumnNames(joinMetadata.fieldName, fields),
+            ` FROM `, stringToParameterizedQuery(self.escape(joinMetadata.refTable)),
+            ` WHERE`, check self.getWhereClauses(whereFilter, true)
+        );
+        logQuery("SQL select query : ", query);
+        stream<record {}, sql:Error?> joinStream = self.dbClient->query(query, joinRelationTypedesc);
+        record {}[]|error arr = from record {} item in joinStream
+            select item;
 
-            query = sql:queryConcat(
-                ` SELECT `, self.getManyRelationColumnNames(joinMetadata.fieldName, fields),
-                ` FROM `, stringToParameterizedQuery(self.escape(joinMetadata.refTable)),
-                ` WHERE`, check self.getWhereClauses(whereFilter, true)
-            );
-            logQuery("SQL select query : ", query);
-            stream<record {}, sql:Error?> joinStream = self.dbClient->query(query, joinRelationTypedesc);
-            record {}[]|error arr = from record {} item in joinStream
-                select item;
+        if arr is error {
+            return <persist:Error>error(arr.message());
+        }
 
-            if arr is error {
-                return <persist:Error>error(arr.message());
-            }
+        'object[joinMetadata.fieldName] = persist:convertToArray(joinRelationTypedesc, arr);
+    }
+
+    # Retrieves the values of the 'many' side of an association for a set of records. A single
+    # `SELECT ... WHERE refColumn IN (...)` query is executed per chunk of at most `relationBatchSize` records
+    # within the bind parameter limit of the data source and the retrieved records are assigned to their parent
+    # records in memory.
+    #
+    # + objects - The records to which the retrieved records should be appended
+    # + fields - The fields to be retrieved
+    # + include - The relations to be retrieved (SQL `JOINs` to be performed)
+    # + typeDescriptions - The type descriptions of the relations to be retrieved
+    # + return - `()` if the operation is performed successfully or a `persist:Error` if the operation fails
+    isolated function getManyRelationsInBatches(record {}[] objects, string[] fields, string[] include, typedesc<record {}>[] typeDescriptions) returns persist:Error? {
+        if objects.length() == 0 {
+            return;
+        }
+
+        foreach string joinKey in self.getManyRelationFields(include) {
+            JoinMetadata joinMetadata = self.joinMetadata.get(joinKey);
+            typedesc<record {}> joinRelationTypedesc = self.getJoinRelationTypedescription(typeDescriptions, include, joinKey);
 
-            'object[joinMetadata.fieldName] = persist:convertToArray(joinRelationTypedesc, arr);
+            string[] joinFields = [];
+            string[] joinKeyAliases = [];
+            foreach int i in 0 ..< joinMetadata.joinColumns.length() {
+                joinFields.push(check self.getFieldFromColumn(joinMetadata.joinColumns[i]));
+                joinKeyAliases.push(JOIN_KEY_ALIAS_PREFIX + i.toString());
+            }
+            typedesc<record {}> joinRowTypedesc = getTypedescWithOptionalFields(joinRelationTypedesc, joinKeyAliases);
+
+            int batchSize = int:max(1, int:min(self.relationBatchSize,
+                self.dataSourceSpecifics.maxBindParameters / joinMetadata.refColumns.length()));
+            int startIndex = 0;
+            while startIndex < objects.length() {
+                int endIndex = int:min(startIndex + batchSize, objects.length());
+                check self.getManyRelationBatch(objects.slice(startIndex, endIndex), joinMetadata, joinFields,
+                    joinKeyAliases, joinRowTypedesc, joinRelationTypedesc, fields);
+                startIndex = endIndex;
+            }
         }
     }
 
@@ -285,6 +836,9 @@ public isolated client class SQLClient {
             // check the values of included entities are ()
             foreach string joinKey in self.getJoinFields(include) {
                 JoinMetadata joinMetadata = self.joinMetadata.get(joinKey);
+                string associationKeyAlias = getAssociationKeyAlias(joinKey);
+                boolean hasAssociationKey = 'object.hasKey(associationKeyAlias);
+                anydata associationKey = hasAssociationKey ? 'object.remove(associationKeyAlias) : ();
                 anydata associatedEntity = 'object.get(joinMetadata.fieldName);
                 if associatedEntity is record {} {
                     // check if the fields are empty in the associated record.
@@ -294,6 +848,14 @@ public isolated client class SQLClient {
                         continue;
                     }
 
+                    // The referenced column of the joined table is `NULL` only if there is no associated entry.
+                    if hasAssociationKey {
+                        if associationKey is () {
+                            'object[joinMetadata.fieldName] = ();
+                        }
+                        continue;
+                    }
+
                     // check if the associated record values contain the foreign fields, if so, we can skip the query.
                     boolean hasKeys = true;
                     foreach string refColumn in joinMetadata.refColumns {
@@ -308,7 +870,7 @@ public isolated client class SQLClient {
                     }
                     // construct the query to check whether the associated entries are exists
                     sql:ParameterizedQuery query = ``;
-                    map<string> whereFilter = check self.getManyRelationWhereFilter('object, joinMetadata);
+                    map<anydata> whereFilter = check self.getManyRelationWhereFilter('object, joinMetadata);
                     query = sql:queryConcat(
                         ` SELECT COUNT(*) AS count`,
                         ` FROM `, stringToParameterizedQuery(self.escape(joinMetadata.refTable)),
@@ -330,6 +892,10 @@ public isolated client class SQLClient {
         return self.keyFields;
     }
 
+    isolated function getStreamPrefetchSize() returns int {
+        return self.streamPrefetchSize;
+    }
+
     private isolated function getKey(anydata|record {} 'object) returns record {} {
         record {} keyRecord = {};
 
@@ -343,41 +909,31 @@ public isolated client class SQLClient {
         return keyRecord;
     }
 
-    private isolated function getInsertQueryParams(record {} 'object) returns sql:ParameterizedQuery {
-        sql:ParameterizedQuery params = `(`;
-        int columnCount = 0;
-
-        foreach string key in self.getInsertableFields() {
-            if columnCount > 0 {
-                params = sql:queryConcat(params, `,`);
-            }
-            params = sql:queryConcat(params, `${<sql:Value>'object[key]}`);
-            columnCount = columnCount + 1;
-        }
-        params = sql:queryConcat(params, `)`);
-        return params;
+    private isolated function getKeyValues(record {} keyRecord) returns anydata[] {
+        return from string keyField in self.keyFields
+            select keyRecord[keyField];
     }
 
-    private isolated function getInsertColumnNames() returns sql:ParameterizedQuery {
-        sql:ParameterizedQuery params = ` `;
-        int columnCount = 0;
-
-        foreach string key in self.getInsertableFields() {
-            FieldMetadata fieldMetadata = self.fieldMetadata.get(key);
-            if columnCount > 0 {
-                params = sql:queryConcat(params, `, `);
-            }
+    private isolated function getKeyColumns() returns string[] {
+        return from string keyField in self.keyFields
+            select self.escape(self.entityName) + "." + self.escape(self.getColumnFromField(keyField));
+    }
 
-            params = sql:queryConcat(params, stringToParameterizedQuery(self.escape((<SimpleFieldMetadata>fieldMetadata).columnName)));
-            columnCount = columnCount + 1;
-        }
-        return params;
+    // The maximum number of keys of a `WHERE ... IN` statement, within the bind parameter limit of the data source
+    private isolated function getKeyChunkSize() returns int {
+        return int:max(1, int:min(self.relationBatchSize,
+            self.dataSourceSpecifics.maxBindParameters / self.keyFields.length()));
     }
 
-    private isolated function getSelectColumnNames(string[] selectableFields) returns sql:ParameterizedQuery {
+    private isolated function getSelectColumnNames(string[] selectableFields, string[] associationJoinFields = [])
+            returns sql:ParameterizedQuery|persist:Error {
         string[] columnNames = [];
 
         foreach string key in selectableFields {
+            if key.startsWith(AGGREGATE_ALIAS_PREFIX + "_") {
+                columnNames.push(check self.getAggregateColumnName(key));
+                continue;
+            }
             string fieldName = self.getFieldFromKey(key);
             FieldMetadata fieldMetadata = self.fieldMetadata.get(key);
 
@@ -391,13 +947,251 @@ public isolated client class SQLClient {
             }
 
         }
+        foreach string joinKey in associationJoinFields {
+            JoinMetadata joinMetadata = self.joinMetadata.get(joinKey);
+            columnNames.push(self.escape(joinKey) + "." + self.escape(joinMetadata.refColumns[0]) + " AS " + self.escape(getAssociationKeyAlias(joinKey)));
+        }
         return arrayToParameterizedQuery(columnNames);
     }
 
+    // Returns the column of an aggregate computed by the database, e.g. `COUNT("Product"."id") AS "persistAggregate_count_id"`
+    private isolated function getAggregateColumnName(string key) returns string|persist:Error {
+        string aggregate = key.substring(AGGREGATE_ALIAS_PREFIX.length() + 1);
+        int? separatorIndex = aggregate.indexOf("_");
+        string aggregateFunction = separatorIndex is int ? aggregate.substring(0, separatorIndex) : aggregate;
+        string? sqlFunction = AGGREGATE_FUNCTIONS[aggregateFunction];
+        if sqlFunction is () {
+            return <persist:Error>error(string `Unsupported aggregate function '${aggregateFunction}' in the field '${key}'.`);
+        }
+        if separatorIndex is () {
+            return string `${sqlFunction}(*) AS ${self.escape(key)}`;
+        }
+        string fieldName = aggregate.substring(separatorIndex + 1);
+        FieldMetadata? fieldMetadata = self.fieldMetadata[fieldName];
+        if fieldMetadata !is SimpleFieldMetadata {
+            return <persist:Error>error(string `The field '${fieldName}' of the entity '${self.entityName}' cannot be aggregated.`);
+        }
+        return string `${sqlFunction}(${self.escape(self.entityName)}.${self.escape(fieldMetadata.columnName)}) AS ${self.escape(key)}`;
+    }
+
+    private isolated function getManyRelationBatch(record {}[] objects, JoinMetadata joinMetadata, string[] joinFields,
+            string[] joinKeyAliases, typedesc<record {}> joinRowTypedesc, typedesc<record {}> joinRelationTypedesc,
+            string[] fields) returns persist:Error? {
+        map<anydata[]> joinValues = {};
+        foreach record {} 'object in objects {
+            anydata[] values = from string joinField in joinFields
+                select 'object[joinField];
+            joinValues[values.toString()] = values;
+        }
+
+        string[] columnNames = self.getManyRelationColumnNameList(joinMetadata.fieldName, fields);
+        foreach int i in 0 ..< joinMetadata.refColumns.length() {
+            columnNames.push(self.escape(joinMetadata.refColumns[i]) + " AS " + self.escape(joinKeyAliases[i]));
+        }
+        string[] refColumns = from string refColumn in joinMetadata.refColumns
+            select self.escape(refColumn);
+        sql:ParameterizedQuery query = sql:queryConcat(
+            ` SELECT `, arrayToParameterizedQuery(columnNames),
+            ` FROM `, stringToParameterizedQuery(self.escape(joinMetadata.refTable)),
+            ` WHERE `, self.getInClause(refColumns, joinValues.toArray())
+        );
+        logQuery("SQL select query : ", query);
+        stream<record {}, sql:Error?> joinStream = self.dbClient->query(query, joinRowTypedesc);
+        record {}[]|error joinRows = from record {} item in joinStream
+            select item;
+        if joinRows is error {
+            return <persist:Error>error(joinRows.message());
+        }
+
+        // The database matches the join values as per its collation, e.g. case-insensitively or regardless of the
+        // decimal scale, so the rows are assigned to the parents of the same folded join values. The parents whose
+        // folded join values are shared by other parents cannot be told apart without knowing the collation, and a
+        // row which matches no parent by its folded join values was matched by a rule which is not folded, e.g. an
+        // accent-insensitive collation. Those parents, or all the parents of the batch respectively, are read with
+        // queries of their own instead.
+        map<string[]> parentKeys = {};
+        map<record {}[]> relatedRecords = {};
+        foreach [string, anydata[]] [parentKey, values] in joinValues.entries() {
+            string foldedKey = getFoldedKey(values);
+            string[]? foldedParentKeys = parentKeys[foldedKey];
+            if foldedParentKeys is () {
+                parentKeys[foldedKey] = [parentKey];
+            } else {
+                foldedParentKeys.push(parentKey);
+            }
+            relatedRecords[parentKey] = [];
+        }
+        string[] unresolvedParentKeys = [];
+        boolean hasUnassignedRows = false;
+        foreach record {} joinRow in joinRows {
+            anydata[] values = from string joinKeyAlias in joinKeyAliases
+                select joinRow.remove(joinKeyAlias);
+            record {}|error relatedRecord = joinRow.cloneWithType(joinRelationTypedesc);
+            if relatedRecord is error {
+                return <persist:Error>error(relatedRecord.message());
+            }
+            string[]? matchedParentKeys = parentKeys[getFoldedKey(values)];
+            if matchedParentKeys is () {
+                hasUnassignedRows = true;
+                break;
+            }
+            if matchedParentKeys.length() > 1 {
+                foreach string parentKey in matchedParentKeys {
+                    if unresolvedParentKeys.indexOf(parentKey) is () {
+                        unresolvedParentKeys.push(parentKey);
+                    }
+                }
+                continue;
+            }
+            relatedRecords.get(matchedParentKeys[0]).push(relatedRecord);
+        }
+
+        foreach record {} 'object in objects {
+            anydata[] values = from string joinField in joinFields
+                select 'object[joinField];
+            if hasUnassignedRows || unresolvedParentKeys.indexOf(values.toString()) is int {
+                check self.getManyRelation('object, joinMetadata, joinRelationTypedesc, fields);
+                continue;
+            }
+            'object[joinMetadata.fieldName] = persist:convertToArray(joinRelationTypedesc,
+                [...relatedRecords.get(values.toString())]);
+        }
+    }
+
+    // Constructs `column IN (?, ...)`, or the row-value equivalent `(column1, column2) IN ((?, ?), ...)` for
+    // composite columns. Data sources which do not support row-value `IN` predicates get an `OR` of conjunctions.
+    private isolated function getInClause(string[] columns, anydata[][] values) returns sql:ParameterizedQuery {
+        boolean isRowValue = columns.length() > 1;
+        boolean isDisjunction = isRowValue && !self.dataSourceSpecifics.supportsRowValueIn;
+        string pending = isDisjunction ? "(" : (isRowValue ? "(" + string:'join(", ", ...columns) + ") IN (" : columns[0] + " IN (");
+        string[] strings = [];
+        sql:Value[] insertions = [];
+        foreach int i in 0 ..< values.length() {
+            if i > 0 {
+                pending += isDisjunction ? " OR " : ", ";
+            }
+            pending += isRowValue ? "(" : "";
+            foreach int j in 0 ..< columns.length() {
+                if j > 0 {
+                    pending += isDisjunction ? " AND " : ", ";
+                }
+                pending += isDisjunction ? columns[j] + " = " : "";
+                strings.push(pending);
+                insertions.push(<sql:Value>values[i][j]);
+                pending = "";
+            }
+            pending += isRowValue ? ")" : "";
+        }
+        strings.push(pending + ")");
+        return toParameterizedQuery(strings, insertions);
+    }
+
+    // Returns the fields by which a page is ordered, i.e. the given fields followed by the key fields which are not
+    // among them
+    private isolated function getPageSortFields(OrderByField[] orderBy) returns OrderByField[]|persist:Error {
+        OrderByField[] sortFields = [];
+        string[] sortFieldNames = [];
+        foreach OrderByField orderByField in orderBy {
+            if self.fieldMetadata[orderByField.'field] !is SimpleFieldMetadata {
+                return error persist:Error(string `The field '${orderByField.'field}' of the entity '${self.entityName}' cannot be used to order a page.`);
+            }
+            if sortFieldNames.indexOf(orderByField.'field) is () {
+                sortFields.push(orderByField);
+                sortFieldNames.push(orderByField.'field);
+            }
+        }
+        foreach string keyField in self.keyFields {
+            if sortFieldNames.indexOf(keyField) is () {
+                sortFields.push({'field: keyField});
+            }
+        }
+        return sortFields;
+    }
+
+    private isolated function getPageSortColumn(OrderByField sortField) returns string {
+        return self.escape(self.entityName) + "." + self.escape(self.getColumnFromField(sortField.'field));
+    }
+
+    // Returns `(c1, c2) > (?, ?)` when the fields are ordered in the same direction, or
+    // `((c1 > ?) OR (c1 = ? AND c2 < ?))` for mixed directions or when row-value comparisons are not supported
+    private isolated function getKeysetPredicate(OrderByField[] sortFields, sql:Value[] values)
+            returns sql:ParameterizedQuery {
+        string[] columns = from OrderByField sortField in sortFields
+            select self.getPageSortColumn(sortField);
+        boolean isDescending = sortFields[0].descending;
+        boolean isUniform = true;
+        foreach OrderByField sortField in sortFields {
+            isUniform = isUniform && sortField.descending == isDescending;
+        }
+        string[] strings = [];
+        sql:Value[] insertions = [];
+        if isUniform && self.dataSourceSpecifics.supportsRowValueComparison {
+            string operator = isDescending ? " < " : " > ";
+            foreach int i in 0 ..< columns.length() {
+                strings.push(i == 0 ? "(" + string:'join(", ", ...columns) + ")" + operator + "(" : ", ");
+                insertions.push(values[i]);
+            }
+            strings.push(")");
+            return toParameterizedQuery(strings, insertions);
+        }
+
+        string pending = "(";
+        foreach int i in 0 ..< columns.length() {
+            pending += i > 0 ? " OR (" : "(";
+            foreach int j in 0 ... i {
+                pending += j > 0 ? " AND " : "";
+                pending += columns[j] + (j < i ? " = " : (sortFields[j].descending ? " < " : " > "));
+                strings.push(pending);
+                insertions.push(values[j]);
+                pending = "";
+            }
+            pending += ")";
+        }
+        strings.push(pending + ")");
+        return toParameterizedQuery(strings, insertions);
+    }
+
+    // The cursor holds the values of the ordering fields of the last record of a page, each tagged with its type
+    private isolated function getCursor(record {} row, OrderByField[] sortFields) returns string|persist:Error {
+        json[] values = [];
+        foreach OrderByField sortField in sortFields {
+            anydata value = row[sortField.'field];
+            if value is () {
+                return error persist:Error(string `The field '${sortField.'field}' of the entity '${self.entityName}' cannot be used to order a page as it has a '()' value.`);
+            }
+            string? valueType = getCursorValueType(value);
+            if valueType is () {
+                return error persist:Error(string `The field '${sortField.'field}' of the entity '${self.entityName}' cannot be used to order a page as its type is not supported.`);
+            }
+            values.push([valueType, value.toJson()]);
+        }
+        return values.toJsonString().toBytes().toBase64();
+    }
+
+    private isolated function getCursorValues(string cursor, int valueCount) returns sql:Value[]|persist:Error {
+        do {
+            json values = check (check string:fromBytes(check array:fromBase64(cursor))).fromJsonString();
+            if values is json[] && values.length() == valueCount {
+                sql:Value[] cursorValues = [];
+                foreach json value in values {
+                    [string, json] [valueType, typedValue] = check value.fromJsonWithType();
+                    cursorValues.push(check getCursorValue(valueType, typedValue));
+                }
+                return cursorValues;
+            }
+        } on fail {
+        }
+        return error persist:Error(string `Invalid cursor '${cursor}' for the entity '${self.entityName}'.`);
+    }
+
     private isolated function getManyRelationColumnNames(string prefix, string[] fields) returns sql:ParameterizedQuery {
+        return arrayToParameterizedQuery(self.getManyRelationColumnNameList(prefix, fields));
+    }
+
+    private isolated function getManyRelationColumnNameList(string prefix, string[] fields) returns string[] {
         string[] columnNames = [];
         foreach string key in fields {
-            if key.indexOf(prefix + "[].") is () {
+            if self.metadataIndex.manyRelationOfFields[key] != prefix {
                 continue;
             }
 
@@ -414,7 +1208,7 @@ public isolated client class SQLClient {
                 columnNames.push(self.escape(refColumn));
             }
         }
-        return arrayToParameterizedQuery(columnNames);
+        return columnNames;
     }
 
     private isolated function getGetKeyWhereClauses(anydata key) returns sql:ParameterizedQuery|persist:Error {
@@ -439,7 +1233,7 @@ public isolated client class SQLClient {
             }
 
             if ignoreFieldCheck {
-                query = sql:queryConcat(query, stringToParameterizedQuery(self.escape(keys[i]) + " = '" + filter[keys[i]].toString() + "'"));
+                query = sql:queryConcat(query, stringToParameterizedQuery(self.escape(keys[i])), ` = ${<sql:Value>filter[keys[i]]}`);
             } else {
                 query = sql:queryConcat(query, stringToParameterizedQuery(self.escape(self.entityName) + "." + self.escape(self.getColumnFromField(keys[i]))), ` = ${<sql:Value>filter[keys[i]]}`);
             }
@@ -479,17 +1273,10 @@ public isolated client class SQLClient {
     }
 
     private isolated function getFieldFromColumn(string columnName) returns string|persist:Error {
-        foreach string key in self.fieldMetadata.keys() {
-            FieldMetadata fieldMetadata = self.fieldMetadata.get(key);
-            if fieldMetadata is EntityFieldMetadata {
-                continue;
-            }
-
-            if fieldMetadata.columnName == columnName {
-                return key;
-            }
+        string? fieldName = self.metadataIndex.columnFields[columnName];
+        if fieldName is string {
+            return fieldName;
         }
-
         return error persist:Error(string `A field corresponding to column '${columnName}' does not exist in entity '${self.entityName}'.`);
     }
 
@@ -503,29 +1290,188 @@ public isolated client class SQLClient {
 
     private isolated function getInsertQueries(record {}[] insertRecords) returns sql:ParameterizedQuery[] {
         return from record {} insertRecord in insertRecords
-            select sql:queryConcat(`INSERT INTO `, stringToParameterizedQuery(self.getTableName()), ` (`, self.getInsertColumnNames(), ` ) `, `VALUES `, self.getInsertQueryParams(insertRecord));
+            select toParameterizedQuery(self.insertQueryStrings, self.getInsertQueryValues(insertRecord));
+    }
+
+    private isolated function getMultiRowInsertQuery(record {}[] insertRecords) returns sql:ParameterizedQuery {
+        string[] strings = from string value in self.insertQueryStrings
+            select value;
+        sql:Value[] insertions = self.getInsertQueryValues(insertRecords[0]);
+        foreach int i in 1 ..< insertRecords.length() {
+            // the closing parenthesis of the previous row is followed by the opening parenthesis of the next one
+            strings[strings.length() - 1] = strings[strings.length() - 1] + ", (";
+            foreach int j in 1 ..< self.insertQueryStrings.length() {
+                strings.push(self.insertQueryStrings[j]);
+            }
+            insertions.push(...self.getInsertQueryValues(insertRecords[i]));
+        }
+        return toParameterizedQuery(strings, insertions);
     }
 
-    private isolated function getSelectQuery(string[] selectableFields) returns sql:ParameterizedQuery {
+    private isolated function getInsertQueryValues(record {} 'object) returns sql:Value[] {
+        return from string key in self.insertableFields
+            select <sql:Value>'object[key];
+    }
+
+    private isolated function getSelectQuery(string[] selectableFields, string[] associationJoinFields = [])
+            returns sql:ParameterizedQuery|persist:Error {
         return sql:queryConcat(
-            `SELECT `, self.getSelectColumnNames(selectableFields), ` FROM `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName))
+            `SELECT `, check self.getSelectColumnNames(selectableFields, associationJoinFields), ` FROM `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName))
         );
     }
 
+    // Returns the query of `runReadQuery`. The clauses generated by the compiler plugin for a query have the same text
+    // on every call, hence the text of the whole query is built once per query and cached, and every further call
+    // only binds the values of the `WHERE` and `LIMIT` clauses. Queries of which the text depends on the values,
+    // i.e. list values and the identifiers inlined into the `ORDER BY` and `GROUP BY` clauses, are built on every call.
+    private isolated function getReadQuery(string[] fields, string[] include, boolean projectAssociationKeys,
+            sql:ParameterizedQuery whereClause, sql:ParameterizedQuery orderByClause,
+            sql:ParameterizedQuery limitClause, sql:ParameterizedQuery groupByClause, boolean isCacheable)
+                returns sql:ParameterizedQuery|persist:Error {
+        if !isCacheable || self.queryCacheSize == 0 || orderByClause.insertions.length() != 0
+                || groupByClause.insertions.length() != 0 || hasListInsertion(whereClause) {
+            return self.buildReadQuery(fields, include, projectAssociationKeys, whereClause, orderByClause,
+                limitClause, groupByClause);
+        }
+        string cacheKey = string `${projectAssociationKeys}:${string:'join(",", ...fields)}:${string:'join(",", ...include)}`
+            + string `:${whereClause.strings.toString()}:${orderByClause.strings.toString()}`
+            + string `:${limitClause.strings.toString()}:${groupByClause.strings.toString()}`;
+        (string[] & readonly)? cachedStrings = ();
+        lock {
+            cachedStrings = self.readQueryCache[cacheKey];
+        }
+        if cachedStrings is string[] & readonly {
+            return toParameterizedQuery(cachedStrings, [...whereClause.insertions, ...limitClause.insertions]);
+        }
+
+        sql:ParameterizedQuery query = check self.buildReadQuery(fields, include, projectAssociationKeys, whereClause,
+            orderByClause, limitClause, groupByClause);
+        string[] & readonly queryStrings = query.strings;
+        lock {
+            if self.readQueryCache.length() >= self.queryCacheSize {
+                _ = self.readQueryCache.remove(self.readQueryCache.keys()[0]);
+            }
+            self.readQueryCache[cacheKey] = queryStrings;
+        }
+        return query;
+    }
+
+    private isolated function buildReadQuery(string[] fields, string[] include, boolean projectAssociationKeys,
+            sql:ParameterizedQuery whereClause, sql:ParameterizedQuery orderByClause,
+            sql:ParameterizedQuery limitClause, sql:ParameterizedQuery groupByClause)
+                returns sql:ParameterizedQuery|persist:Error {
+        sql:ParameterizedQuery query = stringToParameterizedQuery(check self.getSelectQueryPrefix(fields, include, false, projectAssociationKeys));
+        if (whereClause.strings.length() != 0) {
+            query = sql:queryConcat(query, ` WHERE `, expandListInsertions(whereClause));
+        }
+        if (groupByClause.strings.length() != 0) {
+            query = sql:queryConcat(query, ` GROUP BY `, check self.getIdentifierClause(groupByClause, "GROUP BY"));
+        }
+        if (orderByClause.strings.length() != 0) {
+            query = sql:queryConcat(query, ` ORDER BY `, check self.getIdentifierClause(orderByClause, "ORDER BY"));
+        }
+        if (limitClause.strings.length() != 0 && !self.dataSourceSpecifics.supportsLimit) {
+            // `OFFSET ... FETCH` is only allowed after an `ORDER BY` clause
+            if (orderByClause.strings.length() == 0) {
+                query = sql:queryConcat(query, ` ORDER BY (SELECT NULL)`);
+            }
+            query = sql:queryConcat(query, ` OFFSET 0 ROWS FETCH NEXT `, limitClause, ` ROWS ONLY`);
+        } else if (limitClause.strings.length() != 0) {
+            // The row count is bound as a parameter, so that a query has the same text for every row count
+            query = sql:queryConcat(query, ` LIMIT `, limitClause);
+        }
+        return query;
+    }
+
+    // Returns the given `ORDER BY` or `GROUP BY` clause with the values inlined. Identifiers cannot be bound as
+    // parameters, hence only the identifiers of the columns of the entity and of the joined entities are accepted.
+    private isolated function getIdentifierClause(sql:ParameterizedQuery clauseQuery, string clauseName)
+            returns sql:ParameterizedQuery|persist:Error {
+        if clauseQuery.insertions.length() == 0 {
+            return clauseQuery;
+        }
+        string queryInString = clauseQuery.strings[0];
+        foreach int i in 0 ..< clauseQuery.insertions.length() {
+            sql:Value insertion = clauseQuery.insertions[i];
+            if insertion !is string || !self.isColumnIdentifier(insertion.trim()) {
+                return <persist:Error>error(string `Invalid identifier '${insertion.toString()}' in the ${clauseName} clause of the entity '${self.entityName}'.`);
+            }
+            queryInString += insertion + clauseQuery.strings[i + 1];
+        }
+        return stringToParameterizedQuery(queryInString);
+    }
+
+    // Returns whether the value refers to a retrievable column, e.g. `"Product"."name"` or `"name"`
+    private isolated function isColumnIdentifier(string value) returns boolean {
+        return self.metadataIndex.columnIdentifiers.hasKey(value);
+    }
+
+    // Returns the `SELECT ... FROM ... LEFT JOIN ...` part of a read query. It only depends on the fields and the
+    // relations to be retrieved, hence it is built once per shape and cached, evicting the oldest shape when full.
+    private isolated function getSelectQueryPrefix(string[] fields, string[] include, boolean isKeyLookup,
+            boolean projectAssociationKeys) returns string|persist:Error {
+        string cacheKey = string `${isKeyLookup}:${projectAssociationKeys}:${string:'join(",", ...fields)}:${string:'join(",", ...include)}`;
+        lock {
+            string? cachedPrefix = self.selectQueryCache[cacheKey];
+            if cachedPrefix is string {
+                return cachedPrefix;
+            }
+        }
+
+        string[] selectableFields;
+        if isKeyLookup || self.getManyRelationFields(include).length() > 0 {
+            selectableFields = self.getSelectableFields(fields);
+        } else {
+            selectableFields = self.getSelectableFieldsForNonManyRelation(fields);
+        }
+        sql:ParameterizedQuery query = check self.getSelectQuery(selectableFields, projectAssociationKeys ? self.getJoinFields(include) : []);
+        foreach string joinKey in self.getJoinFields(include) {
+            query = sql:queryConcat(query, check self.getJoinQuery(joinKey));
+        }
+        string prefix = string:'join("", ...query.strings);
+
+        if self.queryCacheSize > 0 {
+            lock {
+                if self.selectQueryCache.length() >= self.queryCacheSize {
+                    _ = self.selectQueryCache.remove(self.selectQueryCache.keys()[0]);
+                }
+                self.selectQueryCache[cacheKey] = prefix;
+            }
+        }
+        return prefix;
+    }
+
+    // Returns `<statement> RETURNING ...`, or `SELECT ... FROM <deltaTable> TABLE (<statement>)` for the data sources
+    // which select the affected records from a delta table
+    private isolated function getReturningQuery(sql:ParameterizedQuery statement, string deltaTable) returns sql:ParameterizedQuery {
+        if self.dataSourceSpecifics.returningClause == RETURNING_CLAUSE {
+            return sql:queryConcat(statement, ` RETURNING `, self.getReturningColumns(self.escape(self.entityName) + "."));
+        }
+        return sql:queryConcat(`SELECT `, self.getReturningColumns(""), stringToParameterizedQuery(string ` FROM ${deltaTable} TABLE (`), statement, `)`);
+    }
+
+    // Returns the columns of the entity aliased to the fields, e.g. `INSERTED.[id] AS [id], INSERTED.[name] AS [name]`
+    private isolated function getReturningColumns(string prefix) returns sql:ParameterizedQuery {
+        string[] columnNames = from string key in self.metadataIndex.simpleFields
+            select prefix + self.escape(self.getColumnFromField(key)) + " AS " + self.escape(key);
+        return arrayToParameterizedQuery(columnNames, `, `);
+    }
+
     private isolated function getWhereQuery(anydata key) returns sql:ParameterizedQuery|persist:Error {
         return sql:queryConcat(` WHERE `, check self.getGetKeyWhereClauses(key));
     }
 
-    private isolated function getUpdateQuery(record {} updateRecord) returns sql:ParameterizedQuery|persist:Error {
+    // The `OUTPUT` clause of MSSQL precedes the `FROM` clause of the statement
+    private isolated function getUpdateQuery(record {} updateRecord, sql:ParameterizedQuery outputClause = ``) returns sql:ParameterizedQuery|persist:Error {
         if self.dataSourceSpecifics == MSSQL_SPECIFICS {
-            return sql:queryConcat(`UPDATE `, stringToParameterizedQuery(self.escape(self.entityName)), ` SET `, check self.getSetClauses(updateRecord), ` FROM `, stringToParameterizedQuery(self.getTableName()), ` `, stringToParameterizedQuery(self.escape(self.entityName)));
+            return sql:queryConcat(`UPDATE `, stringToParameterizedQuery(self.escape(self.entityName)), ` SET `, check self.getSetClauses(updateRecord), outputClause, ` FROM `, stringToParameterizedQuery(self.getTableName()), ` `, stringToParameterizedQuery(self.escape(self.entityName)));
         }
         return sql:queryConcat(`UPDATE `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName)), ` SET `, check self.getSetClauses(updateRecord));
     }
 
-    private isolated function getDeleteQuery() returns sql:ParameterizedQuery {
+    private isolated function getDeleteQuery(sql:ParameterizedQuery outputClause = ``) returns sql:ParameterizedQuery {
         if self.dataSourceSpecifics == MSSQL_SPECIFICS {
-            return sql:queryConcat(`DELETE `, stringToParameterizedQuery(self.escape(self.entityName)), ` FROM `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName)));
+            return sql:queryConcat(`DELETE `, stringToParameterizedQuery(self.escape(self.entityName)), outputClause, ` FROM `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName)));
         }
         return sql:queryConcat(`DELETE FROM `, stringToParameterizedQuery(self.getTableName()), ` AS `, stringToParameterizedQuery(self.escape(self.entityName)));
     }
@@ -540,27 +1486,29 @@ public isolated client class SQLClient {
     }
 
     private isolated function getJoinFields(string[] include) returns string[] {
-        string[] joinFields = [];
-        foreach string joinKey in self.joinMetadata.keys() {
-            JoinMetadata joinMetadata = self.joinMetadata.get(joinKey);
-            if include.indexOf(joinKey) != () && (joinMetadata.'type == ONE_TO_ONE || joinMetadata.'type == ONE_TO_MANY) {
-                joinFields.push(joinKey);
-            }
+        if include.length() == 0 {
+            return [];
         }
-        return joinFields;
+        return from string joinKey in self.metadataIndex.joinFields
+            where include.indexOf(joinKey) != ()
+            select joinKey;
     }
 
     private isolated function getManyRelationFields(string[] include) returns string[] {
-        return from string joinKey in self.joinMetadata.keys()
-            let JoinMetadata joinMetadata = self.joinMetadata.get(joinKey)
-            where include.indexOf(joinKey) != () && joinMetadata.'type == MANY_TO_ONE
+        if include.length() == 0 {
+            return [];
+        }
+        return from string joinKey in self.metadataIndex.manyRelationFields
+            where include.indexOf(joinKey) != ()
             select joinKey;
     }
 
-    private isolated function getManyRelationWhereFilter(record {} 'object, JoinMetadata joinMetadata) returns map<string>|persist:Error {
-        map<string> whereFilter = {};
+    // Returns the referenced columns mapped to the values of the join columns of the record. The values retain their
+    // types, so that they are bound as parameters of the same SQL types as the columns.
+    private isolated function getManyRelationWhereFilter(record {} 'object, JoinMetadata joinMetadata) returns map<anydata>|persist:Error {
+        map<anydata> whereFilter = {};
         foreach int i in 0 ..< joinMetadata.refColumns.length() {
-            whereFilter[joinMetadata.refColumns[i]] = 'object[check self.getFieldFromColumn(joinMetadata.joinColumns[i])].toString();
+            whereFilter[joinMetadata.refColumns[i]] = 'object[check self.getFieldFromColumn(joinMetadata.joinColumns[i])];
         }
         return whereFilter;
     }
@@ -585,49 +1533,118 @@ public isolated client class SQLClient {
         }
     }
 
-    private isolated function getInsertableFields() returns string[] {
-        return from string key in self.fieldMetadata.keys()
-            let FieldMetadata metadataField = self.fieldMetadata.get(key)
-            where metadataField is SimpleFieldMetadata && !metadataField.dbGenerated
-            select key;
-    }
-
     private isolated function getSelectableFields(string[] fields) returns string[] {
-        return from string key in self.fieldMetadata.keys()
-            where (fields.indexOf(key) != () || self.keyFields.indexOf(key) != ()) && !key.includes("[]")
+        map<boolean> requestedFields = {};
+        foreach string key in fields {
+            requestedFields[key] = true;
+        }
+        return from string key in self.metadataIndex.selectableFields
+            where requestedFields.hasKey(key) || self.metadataIndex.keyFields.hasKey(key)
             select key;
     }
 
     private isolated function getSelectableFieldsForNonManyRelation(string[] fields) returns string[] {
         return from string key in fields
-            where (fields.indexOf(key) != () || self.keyFields.indexOf(key) != ()) && !key.includes("[]")
+            where !key.includes("[]")
             select key;
     }
 
+    private isolated function escapeLikePatterns(sql:ParameterizedQuery whereClause) returns sql:ParameterizedQuery {
+        return self.dataSourceSpecifics.supportsLikeCharacterClass ? escapeLikeCharacterClasses(whereClause) : whereClause;
+    }
+
     private isolated function escape(string value) returns string {
-        if (value.startsWith("'")) {
-            return self.dataSourceSpecifics.quoteOpen + value.substring(1) + self.dataSourceSpecifics.quoteClose;
+        return escapeIdentifier(value, self.dataSourceSpecifics);
+    }
+}
+
+type EntityRows record {}[];
+
+// The lookups of the metadata of an entity, indexed once per `SQLClient` as they are done per call or per row.
+type MetadataIndex record {|
+    // The columns mapped to the fields of the entity
+    map<string> columnFields = {};
+    // The fields of the 'many' side of the associations mapped to the associations, e.g. `employees[].firstName`
+    map<string> manyRelationOfFields = {};
+    // The identifiers of the columns which can be referred by a query, e.g. `"Employee"."firstName"`
+    map<boolean> columnIdentifiers = {};
+    map<boolean> keyFields = {};
+    // The fields which can be retrieved by a `SELECT` query, in the order of the metadata
+    string[] selectableFields = [];
+    // The fields mapped to the columns of the table of the entity, in the order of the metadata
+    string[] simpleFields = [];
+    // The associations retrieved by a `JOIN`, and the 'many' side associations retrieved by a further query
+    string[] joinFields = [];
+    string[] manyRelationFields = [];
+|};
+
+isolated function escapeIdentifier(string value, DataSourceSpecifics dataSourceSpecifics) returns string {
+    if (value.startsWith("'")) {
+        return dataSourceSpecifics.quoteOpen + value.substring(1) + dataSourceSpecifics.quoteClose;
+    }
+    return dataSourceSpecifics.quoteOpen + value + dataSourceSpecifics.quoteClose;
+}
+
+// Indexes the metadata of an entity for the lookups done per call or per row, which would otherwise scan the metadata.
+isolated function getMetadataIndex(SQLMetadata metadata, map<JoinMetadata> joinMetadata, DataSourceSpecifics dataSourceSpecifics) returns MetadataIndex {
+    MetadataIndex index = {};
+    string entityName = escapeIdentifier(metadata.entityName, dataSourceSpecifics);
+    foreach [string, FieldMetadata] [key, fieldMetadata] in metadata.fieldMetadata.entries() {
+        if fieldMetadata is SimpleFieldMetadata {
+            if !index.columnFields.hasKey(fieldMetadata.columnName) {
+                index.columnFields[fieldMetadata.columnName] = key;
+            }
+            index.simpleFields.push(key);
+            string columnName = escapeIdentifier(fieldMetadata.columnName, dataSourceSpecifics);
+            index.columnIdentifiers[columnName] = true;
+            index.columnIdentifiers[entityName + "." + columnName] = true;
+        } else {
+            int? separatorIndex = key.indexOf(".");
+            string relationName = separatorIndex is int ? key.substring(0, separatorIndex) : key;
+            string refColumn = fieldMetadata.relation.refColumn ?: fieldMetadata.relation.refField;
+            index.columnIdentifiers[escapeIdentifier(relationName, dataSourceSpecifics) + "." + escapeIdentifier(refColumn, dataSourceSpecifics)] = true;
+            int? manyRelationIndex = key.indexOf("[].");
+            if manyRelationIndex is int {
+                index.manyRelationOfFields[key] = key.substring(0, manyRelationIndex);
+            }
+        }
+        if !key.includes("[]") {
+            index.selectableFields.push(key);
         }
-        return self.dataSourceSpecifics.quoteOpen + value + self.dataSourceSpecifics.quoteClose;
     }
+    foreach string keyField in metadata.keyFields {
+        index.keyFields[keyField] = true;
+    }
+    foreach [string, JoinMetadata] [joinKey, joinMetadataEntry] in joinMetadata.entries() {
+        if joinMetadataEntry.'type == MANY_TO_ONE {
+            index.manyRelationFields.push(joinKey);
+        } else if joinMetadataEntry.'type == ONE_TO_ONE || joinMetadataEntry.'type == ONE_TO_MANY {
+            index.joinFields.push(joinKey);
+        }
+    }
+    return index;
 }
 
-isolated function addClauseToQuery(sql:ParameterizedQuery query, sql:ParameterizedQuery clauseQuery, sql:ParameterizedQuery sqlKeyword) returns sql:ParameterizedQuery {
-    if (clauseQuery.insertions.length() == 0) {
-        return sql:queryConcat(query, sqlKeyword, clauseQuery);
+// Returns the fragments of `INSERT INTO <table> (<columns>) VALUES (?, ..., ?)` that surround the values of a record.
+isolated function getInsertQueryStrings(SQLMetadata metadata, DataSourceSpecifics dataSourceSpecifics, string[] insertableFields) returns string[] {
+    string tableName = escapeIdentifier(metadata.tableName, dataSourceSpecifics);
+    string? schemaName = metadata.schemaName;
+    if schemaName is string {
+        tableName = string `${schemaName}.${tableName}`;
+    }
+    string[] columnNames = from string key in insertableFields
+        select escapeIdentifier((<SimpleFieldMetadata>metadata.fieldMetadata.get(key)).columnName, dataSourceSpecifics);
+
+    string[] strings = [string `INSERT INTO ${tableName} ( ${string:'join(", ", ...columnNames)} ) VALUES (`];
+    foreach int i in 1 ..< insertableFields.length() {
+        strings.push(",");
+    }
+    if insertableFields.length() == 0 {
+        strings[0] = strings[0] + ")";
     } else {
-        string queryInString = "";
-        string[] queryStrings = clauseQuery.strings;
-        int i = 0;
-        foreach sql:Value insertion in clauseQuery.insertions {
-            queryInString += queryStrings[i] + string `${insertion.toString()}`;
-            i += 1;
-        }
-        queryInString += queryStrings[i];
-        sql:ParameterizedQuery queryString = ``;
-        queryString.strings = [queryInString];
-        return sql:queryConcat(query, sqlKeyword, queryString);
+        strings.push(")");
     }
+    return strings;
 }
 
 isolated function logQuery(string msg, sql:ParameterizedQuery|sql:ParameterizedQuery[] queries) {
@@ -26,6 +26,8 @@ public class PersistSQLStream {
     private typedesc<record {}>[] typeDescriptions;
     private SQLClient? persistClient;
     private typedesc<record {}> targetType;
+    private record {}[] prefetchedRecords = [];
+    private int prefetchIndex = 0;
 
     public isolated function init(stream<record {}, sql:Error?>? anydataStream, typedesc<record {}> targetType, string[] fields, string[] include, any[] typeDescriptions, SQLClient persistClient, persist:Error? err = ()) {
         self.anydataStream = anydataStream;
@@ -44,11 +46,25 @@ public class PersistSQLStream {
     }
 
     public isolated function next() returns record {|record {} value;|}|persist:Error? {
+        if self.prefetchIndex < self.prefetchedRecords.length() {
+            record {} value = self.prefetchedRecords[self.prefetchIndex];
+            self.prefetchIndex += 1;
+            return self.getNextRecord(value);
+        }
         if self.err is persist:Error {
             return <persist:Error>self.err;
         }
         else if self.anydataStream is stream<record {}, sql:Error?> {
             var anydataStream = <stream<record {}, sql:Error?>>self.anydataStream;
+            int prefetchSize = (<SQLClient>self.persistClient).getStreamPrefetchSize();
+            if prefetchSize > 1 {
+                check self.prefetch(anydataStream, prefetchSize);
+                if self.prefetchedRecords.length() == 0 {
+                    return self.err;
+                }
+                self.prefetchIndex = 1;
+                return self.getNextRecord(self.prefetchedRecords[0]);
+            }
             var streamValue = anydataStream.next();
             if streamValue is () {
                 return streamValue;
@@ -60,22 +76,7 @@ public class PersistSQLStream {
                     return <persist:Error>error(value.message());
                 }
                 check (<SQLClient>self.persistClient).getManyRelations(value, self.fields, self.include, self.typeDescriptions);
-                // verifies the entity association whether associated entity is available in the database.
-                check (<SQLClient>self.persistClient).verifyEntityAssociation(value, self.fields, self.include);
-
-                string[] keyFields = (<SQLClient>self.persistClient).getKeyFields();
-                foreach string keyField in keyFields {
-                    if self.fields.indexOf(keyField) is () && value.hasKey(keyField) {
-                        _ = value.remove(keyField);
-                    }
-                }
-                record {}|error result = value.cloneWithType(self.targetType);
-                if result is error {
-                    return error persist:Error("Error occurred while converting to the record: " +
-                                result.detail().toString());
-                }
-                record {|record {} value;|} nextRecord = {value: result};
-                return nextRecord;
+                return self.getNextRecord(value);
             }
         } else {
             return ();
@@ -90,6 +91,44 @@ public class PersistSQLStream {
             }
         }
     }
+
+    // Reads ahead up to `prefetchSize` records and retrieves the 'many' side of their associations with batched
+    // queries. An error returned by the underlying stream is deferred until the records read before it are emitted.
+    private isolated function prefetch(stream<record {}, sql:Error?> anydataStream, int prefetchSize) returns persist:Error? {
+        record {}[] prefetchedRecords = [];
+        while prefetchedRecords.length() < prefetchSize {
+            var streamValue = anydataStream.next();
+            if streamValue is () {
+                break;
+            } else if streamValue is sql:Error {
+                self.err = <persist:Error>error(streamValue.message());
+                break;
+            }
+            prefetchedRecords.push(streamValue.value);
+        }
+        check (<SQLClient>self.persistClient).getManyRelationsInBatches(prefetchedRecords, self.fields, self.include, self.typeDescriptions);
+        self.prefetchedRecords = prefetchedRecords;
+        self.prefetchIndex = 0;
+    }
+
+    private isolated function getNextRecord(record {} value) returns record {|record {} value;|}|persist:Error {
+        // verifies the entity association whether associated entity is available in the database.
+        check (<SQLClient>self.persistClient).verifyEntityAssociation(value, self.fields, self.include);
+
+        string[] keyFields = (<SQLClient>self.persistClient).getKeyFields();
+        foreach string keyField in keyFields {
+            if self.fields.indexOf(keyField) is () && value.hasKey(keyField) {
+                _ = value.remove(keyField);
+            }
+        }
+        record {}|error result = value.cloneWithType(self.targetType);
+        if result is error {
+            return error persist:Error("Error occurred while converting to the record: " +
+                        result.detail().toString());
+        }
+        record {|record {} value;|} nextRecord = {value: result};
+        return nextRecord;
+    }
 }
 
 public class PersistNativeSQLStream {
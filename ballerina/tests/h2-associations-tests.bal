@@ -16,6 +16,9 @@
 
 import ballerina/test;
 import ballerina/persist;
+import ballerina/sql;
+import ballerina/time;
+import ballerinax/java.jdbc;
 
 @test:Config {
     groups: ["associations", "h2"],
@@ -315,3 +318,389 @@ function h2DepartmentRelationsReadAsListTest() returns error? {
 
     check rainierClient.close();
 }
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentRelationsReadAsListTest]
+}
+function h2DepartmentRelationsReadAsListMatchesStreamTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+
+    stream<DepartmentInfo, persist:Error?> departmentStream = rainierClient->/departments.get();
+    DepartmentInfo[] streamedDepartments = check from DepartmentInfo department in departmentStream
+        select department;
+    DepartmentInfo[] listedDepartments = check rainierClient->/departments/list.get();
+
+    test:assertEquals(listedDepartments, streamedDepartments);
+
+    check rainierClient.close();
+}
+
+type DepartmentEmployeeInfo record {|
+    string firstName;
+    string lastName;
+|};
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentRelationsReadAsListMatchesStreamTest]
+}
+function h2DepartmentRelationsStreamPrefetchTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+    stream<DepartmentInfo, persist:Error?> departmentStream = rainierClient->/departments.get();
+    DepartmentInfo[] expected = check from DepartmentInfo department in departmentStream
+        select department;
+    check rainierClient.close();
+
+    // A prefetch window larger than the relation batch size exercises both the window and the chunking.
+    check runWithFixture(getH2DepartmentFixture({relationBatchSize: 2, streamPrefetchSize: 3}), function(DepartmentFixture fixture) returns error? {
+        SQLClient sqlClient = fixture.sqlClient;
+
+        string[] fields = ["deptNo", "deptName", "employees[].firstName", "employees[].lastName"];
+        string[] include = ["employees"];
+        stream<record {}, sql:Error?> resultStream = check sqlClient.runReadQuery(DepartmentInfo, fields, include);
+        PersistSQLStream persistStreamObj = new (resultStream, DepartmentInfo, fields, include, [DepartmentEmployeeInfo], sqlClient);
+        stream<record {}, persist:Error?> persistStream = new (persistStreamObj);
+        record {}[] actual = check from record {} department in persistStream
+            select department;
+
+        test:assertEquals(actual, expected);
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentRelationsStreamPrefetchTest]
+}
+function h2DepartmentReadByKeyQueryCacheTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+    DepartmentInfo expected = check rainierClient->/departments/["department-12"].get();
+    check rainierClient.close();
+
+    // A single cache entry makes every change of the query shape evict the previous one.
+    check runWithFixture(getH2DepartmentFixture({queryCacheSize: 1}), function(DepartmentFixture fixture) returns error? {
+        SQLClient sqlClient = fixture.sqlClient;
+
+        string[] fields = ["deptNo", "deptName", "employees[].firstName", "employees[].lastName"];
+        string[] include = ["employees"];
+        foreach int i in 0 ..< 2 {
+            record {} withEmployees = check sqlClient.runReadByKeyQuery(DepartmentInfo, DepartmentInfo, "department-12", fields, include, [DepartmentEmployeeInfo]);
+            test:assertEquals(withEmployees, expected);
+
+            record {} withoutEmployees = check sqlClient.runReadByKeyQuery(Department, Department, "department-12", ["deptNo", "deptName"]);
+            test:assertEquals(withoutEmployees, {deptNo: expected.deptNo, deptName: expected.deptName});
+        }
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"]
+}
+function h2SQLClientInvalidQueryCacheSizeTest() returns error? {
+    DepartmentFixture|error fixture = getH2DepartmentFixture({queryCacheSize: -1});
+    if fixture is persist:Error {
+        test:assertEquals(fixture.message(), "Invalid query cache size '-1'. The cache size should not be negative.");
+    } else {
+        test:assertFail("persist:Error expected.");
+    }
+}
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentReadByKeyQueryCacheTest]
+}
+function h2DepartmentReadQueryCacheTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+    stream<Department, persist:Error?> departmentStream = rainierClient->/departments.get();
+    Department[] departments = check from Department department in departmentStream
+        select department;
+    check rainierClient.close();
+
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        SQLClient sqlClient = fixture.sqlClient;
+
+        // The text of the query is cached by the first call, hence the further calls only bind the key.
+        foreach Department department in departments {
+            string deptNo = department.deptNo;
+            stream<record {}, sql:Error?> resultStream = check sqlClient.runReadQuery(Department, ["deptNo", "deptName"],
+                whereClause = `"Department"."deptNo" = ${deptNo}`, orderByClause = `"Department"."deptName" ASC `);
+            record {}[] actual = check from record {} row in resultStream
+                select row;
+            test:assertEquals(actual, [department]);
+        }
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentReadQueryCacheTest]
+}
+function h2DepartmentReadWithBoundLimitTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+    stream<Department, persist:Error?> departmentStream = rainierClient->/departments.get();
+    Department[] departments = check from Department department in departmentStream
+        order by department.deptNo descending
+        select department;
+    check rainierClient.close();
+
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        SQLClient sqlClient = fixture.sqlClient;
+
+        string column = "\"Department\".\"deptNo\"";
+        foreach int count in 1 ... departments.length() {
+            stream<record {}, sql:Error?> resultStream = check sqlClient.runReadQuery(Department, ["deptNo", "deptName"],
+                orderByClause = `${column} DESC`, limitClause = `${count}`);
+            record {}[] actual = check from record {} row in resultStream
+                select row;
+            test:assertEquals(actual, departments.slice(0, count));
+        }
+
+        string invalidColumn = "\"deptNo\"; DROP TABLE \"Department\"";
+        stream<record {}, sql:Error?>|error result = sqlClient.runReadQuery(Department, ["deptNo", "deptName"],
+            orderByClause = `${invalidColumn} DESC`);
+        if result is persist:Error {
+            test:assertEquals(result.message(), string `Invalid identifier '${invalidColumn}' in the ORDER BY clause of the entity 'Department'.`);
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"],
+    dependsOn: [h2DepartmentReadByKeyQueryCacheTest]
+}
+function h2DepartmentKeysetPaginationTest() returns error? {
+    H2RainierClient rainierClient = check new ();
+    stream<DepartmentInfo, persist:Error?> departmentStream = rainierClient->/departments.get();
+    DepartmentInfo[] expected = check from DepartmentInfo department in departmentStream
+        order by department.deptNo ascending
+        select department;
+    check rainierClient.close();
+
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        SQLClient sqlClient = fixture.sqlClient;
+
+        string[] fields = ["deptName", "employees[].firstName", "employees[].lastName", "deptNo"];
+        string[] include = ["employees"];
+        DepartmentInfo[] actual = [];
+        string? cursor = ();
+        int pageCount = 0;
+        while true {
+            Page page = check sqlClient.runReadPageQuery(DepartmentInfos, DepartmentInfo, DepartmentInfo, 1, cursor, fields, include, typeDescriptions = [DepartmentEmployeeInfo]);
+            actual.push(...check page.records.cloneWithType(DepartmentInfos));
+            pageCount += 1;
+            cursor = page.nextCursor;
+            if cursor is () {
+                break;
+            }
+        }
+        test:assertEquals(actual, expected);
+        test:assertEquals(pageCount, expected.length());
+
+        Page|persist:Error invalidPage = sqlClient.runReadPageQuery(DepartmentInfos, DepartmentInfo, DepartmentInfo, 1, "invalid", fields, include);
+        if invalidPage is persist:Error {
+            test:assertEquals(invalidPage.message(), "Invalid cursor 'invalid' for the entity 'Department'.");
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"]
+}
+function h2DepartmentKeysetPaginationOrderByTest() returns error? {
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        // The departments share their names in pairs, so the key fields break the ties of the ordering field.
+        Department[] departments = from int i in 1 ... 5
+            select {deptNo: string `department-pg-${i}`, deptName: string `Paged ${i / 2}`};
+        _ = check fixture.insert(departments);
+
+        sql:ParameterizedQuery whereClause = `"Department"."deptNo" LIKE ${"department-pg-%"}`;
+        Department[] ascendingOrder = from Department department in departments
+            order by department.deptName ascending, department.deptNo ascending
+            select department;
+        Department[] descendingOrder = from Department department in departments
+            order by department.deptName descending, department.deptNo ascending
+            select department;
+        // The descending order is mixed with the ascending order of the key field.
+        foreach [boolean, Department[]] [descending, expected] in [[false, ascendingOrder], [true, descendingOrder]] {
+            Department[] actual = [];
+            string? cursor = ();
+            while true {
+                Page page = check fixture.sqlClient.runReadPageQuery(DepartmentRows, Department, Department, 2, cursor,
+                    ["deptNo", "deptName"], whereClause = whereClause, orderBy = [{'field: "deptName", descending}]);
+                actual.push(...check page.records.cloneWithType(DepartmentRows));
+                cursor = page.nextCursor;
+                if cursor is () {
+                    break;
+                }
+            }
+            test:assertEquals(actual, expected);
+        }
+
+        Page|persist:Error invalidPage = fixture.sqlClient.runReadPageQuery(DepartmentInfos, DepartmentInfo, DepartmentInfo, 1,
+            orderBy = [{'field: "employees[].firstName"}]);
+        if invalidPage is persist:Error {
+            test:assertEquals(invalidPage.message(), "The field 'employees[].firstName' of the entity 'Department' cannot be used to order a page.");
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+    });
+}
+
+@test:Config {
+    groups: ["associations", "h2"]
+}
+function h2KeysetPaginationTypedCursorTest() returns error? {
+    jdbc:Client dbClient = check new (url = h2.url, user = h2.user, password = h2.password);
+    _ = check dbClient->execute(`DROP TABLE IF EXISTS "PagedEvent"`);
+    _ = check dbClient->execute(`
+        CREATE TABLE "PagedEvent" (
+            "id" INT PRIMARY KEY,
+            "eventDate" DATE NOT NULL,
+            "score" FLOAT NOT NULL
+        )
+    `);
+    error? result = trap assertTypedCursorPages(dbClient);
+    _ = check dbClient->execute(`DROP TABLE "PagedEvent"`);
+    check dbClient.close();
+    return result;
+}
+
+// Pages through the records by a date and by a float field, which the cursor restores with their types, with a
+// target type that does not include the ordering field.
+function assertTypedCursorPages(jdbc:Client dbClient) returns error? {
+    SQLClient sqlClient = check new (dbClient, {
+        entityName: "PagedEvent",
+        tableName: "PagedEvent",
+        fieldMetadata: {
+            id: {columnName: "id"},
+            eventDate: {columnName: "eventDate"},
+            score: {columnName: "score"}
+        },
+        keyFields: ["id"]
+    }, H2_SPECIFICS);
+    PagedEvent[] events = from int i in 1 ... 5
+        select {id: i, eventDate: {year: 2024, month: 6 - i, day: 1}, score: <float>i / 4.0};
+    _ = check sqlClient.runBatchInsertQuery(events);
+
+    foreach [string, boolean] [sortField, descending] in [["eventDate", false], ["score", true]] {
+        PagedEventId[] actual = [];
+        string? cursor = ();
+        while true {
+            Page page = check sqlClient.runReadPageQuery(PagedEventIds, PagedEventId, PagedEvent, 2, cursor, ["id"],
+                orderBy = [{'field: sortField, descending}]);
+            actual.push(...check page.records.cloneWithType(PagedEventIds));
+            cursor = page.nextCursor;
+            if cursor is () {
+                break;
+            }
+        }
+        test:assertEquals(actual, [{id: 5}, {id: 4}, {id: 3}, {id: 2}, {id: 1}]);
+    }
+}
+
+type PagedEvent record {|
+    readonly int id;
+    time:Date eventDate;
+    float score;
+|};
+
+type PagedEventId record {|
+    int id;
+|};
+
+type PagedEventIds PagedEventId[];
+
+@test:Config {
+    groups: ["associations", "h2"]
+}
+function h2AggregateGroupByTest() returns error? {
+    jdbc:Client dbClient = check new (url = h2.url, user = h2.user, password = h2.password);
+    _ = check dbClient->execute(`DROP TABLE IF EXISTS "RegionalSale"`);
+    _ = check dbClient->execute(`
+        CREATE TABLE "RegionalSale" (
+            "id" INT PRIMARY KEY,
+            "region" VARCHAR(20) NOT NULL,
+            "amount" INT NOT NULL
+        )
+    `);
+    error? result = trap assertAggregatesOfGroups(dbClient);
+    _ = check dbClient->execute(`DROP TABLE "RegionalSale"`);
+    check dbClient.close();
+    return result;
+}
+
+// Reads the aggregates of the groups computed by the database, with the aliases of the fields generated by the
+// compiler plugin for a `group by` clause followed by `select {region, count: count(), total: sum(amount)}`.
+function assertAggregatesOfGroups(jdbc:Client dbClient) returns error? {
+    SQLClient sqlClient = check new (dbClient, {
+        entityName: "RegionalSale",
+        tableName: "RegionalSale",
+        fieldMetadata: {
+            id: {columnName: "id"},
+            region: {columnName: "region"},
+            amount: {columnName: "amount"}
+        },
+        keyFields: ["id"]
+    }, H2_SPECIFICS);
+    RegionalSale[] sales = [
+        {id: 1, region: "north", amount: 10},
+        {id: 2, region: "south", amount: 7},
+        {id: 3, region: "north", amount: 15},
+        {id: 4, region: "east", amount: 4},
+        {id: 5, region: "north", amount: 1}
+    ];
+    _ = check sqlClient.runBatchInsertQuery(sales);
+
+    stream<record {}, error?> totalStream = check sqlClient.runReadQuery(RegionalTotal,
+        ["region", "persistAggregate_count", "persistAggregate_sum_amount"],
+        groupByClause = `"RegionalSale"."region"`, orderByClause = `"RegionalSale"."region"`);
+    RegionalTotal[] totals = check from record {} total in totalStream
+        select check total.cloneWithType(RegionalTotal);
+    test:assertEquals(totals, [
+        {region: "east", persistAggregate_count: 1, persistAggregate_sum_amount: 4},
+        {region: "north", persistAggregate_count: 3, persistAggregate_sum_amount: 26},
+        {region: "south", persistAggregate_count: 1, persistAggregate_sum_amount: 7}
+    ]);
+
+    stream<record {}, error?> maxStream = check sqlClient.runReadQuery(RegionalMaximum,
+        ["region", "persistAggregate_max_amount"], whereClause = `"RegionalSale"."amount" > ${5}`,
+        groupByClause = `"RegionalSale"."region"`, orderByClause = `"RegionalSale"."region"`);
+    RegionalMaximum[] maximums = check from record {} maximum in maxStream
+        select check maximum.cloneWithType(RegionalMaximum);
+    test:assertEquals(maximums, [
+        {region: "north", persistAggregate_max_amount: 15},
+        {region: "south", persistAggregate_max_amount: 7}
+    ]);
+
+    stream<record {}, error?>|error unsupported = sqlClient.runReadQuery(RegionalTotal,
+        ["region", "persistAggregate_median_amount"], groupByClause = `"RegionalSale"."region"`);
+    if unsupported is persist:Error {
+        test:assertEquals(unsupported.message(),
+            "Unsupported aggregate function 'median' in the field 'persistAggregate_median_amount'.");
+    } else {
+        test:assertFail("persist:Error expected.");
+    }
+}
+
+type RegionalSale record {|
+    readonly int id;
+    string region;
+    int amount;
+|};
+
+type RegionalTotal record {|
+    string region;
+    int persistAggregate_count;
+    int persistAggregate_sum_amount;
+|};
+
+type RegionalMaximum record {|
+    string region;
+    int persistAggregate_max_amount;
+|};
+
+type DepartmentInfos DepartmentInfo[];
@@ -0,0 +1,200 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+import ballerina/time;
+import ballerinax/java.jdbc;
+
+// The benchmark is skipped unless it is enabled, e.g. by adding a `[benchmark]` table with `enabled=true`
+// to the `Config.toml` of the tests and running the `benchmark` group. It runs over a dedicated in-memory database
+// so that the measurements do not include the disk I/O of the database of the tests nor depend on its records.
+configurable record {|
+    boolean enabled = false;
+    string url = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+    int iterations = 200;
+    int concurrency = 4;
+    int batchSize = 50;
+    string reportPath = "./build/h2-crud-benchmark.json";
+|} & readonly benchmark = {};
+
+const BENCHMARK_CITY = "Benchmark City";
+
+type BenchmarkOperation isolated function (H2RainierClient rainierClient, int worker, int iteration) returns error?;
+
+type OperationReport record {|
+    string operation;
+    int concurrency;
+    int operations;
+    int recordsPerOperation;
+    decimal throughput;
+    decimal meanLatencyMs;
+    decimal p50LatencyMs;
+    decimal p90LatencyMs;
+    decimal p99LatencyMs;
+    decimal maxLatencyMs;
+|};
+
+@test:Config {
+    groups: ["benchmark", "h2"]
+}
+function h2CrudBenchmark() returns error? {
+    if !benchmark.enabled {
+        return;
+    }
+
+    check initBenchmarkDatabase();
+    H2RainierClient rainierClient = check new (benchmark.url);
+    OperationReport[] reports = [
+        check runBenchmark("post", rainierClient, postBuildings, benchmark.batchSize),
+        check runBenchmark("getByKey", rainierClient, getBuilding),
+        check runBenchmark("filteredStream", rainierClient, getBuildingsByCity),
+        check runBenchmark("listWithIncludes", rainierClient, getDepartmentsWithEmployees),
+        check runBenchmark("put", rainierClient, putBuilding),
+        check runBenchmark("delete", rainierClient, deleteBuilding)
+    ];
+
+    // The remaining records of each posted batch are not part of the measurements
+    _ = check rainierClient->executeNativeSQL(`DELETE FROM "Building" WHERE "city" = ${BENCHMARK_CITY}`);
+    check rainierClient.close();
+
+    foreach OperationReport report in reports {
+        test:assertTrue(report.operations == benchmark.concurrency * benchmark.iterations);
+    }
+    check io:fileWriteJson(benchmark.reportPath, reports.toJson());
+}
+
+// Creates the tables of the benchmark database, with the departments and the employees read by the
+// `listWithIncludes` operation
+function initBenchmarkDatabase() returns error? {
+    jdbc:Client dbClient = check new (url = benchmark.url, user = h2.user, password = h2.password);
+    check createH2RainierTables(dbClient);
+    check dbClient.close();
+
+    H2RainierClient rainierClient = check new (benchmark.url);
+    _ = check rainierClient->/buildings.post([{
+        buildingCode: "benchmark-building",
+        city: "Colombo",
+        state: "Western Province",
+        country: "Sri Lanka",
+        postalCode: "10370",
+        'type: "owned"
+    }]);
+    _ = check rainierClient->/workspaces.post([{
+        workspaceId: "benchmark-workspace",
+        workspaceType: "small",
+        locationBuildingCode: "benchmark-building"
+    }]);
+    _ = check rainierClient->/departments.post(from int i in 0 ..< 10
+        select {deptNo: string `benchmark-department-${i}`, deptName: string `Department ${i}`});
+    _ = check rainierClient->/employees.post(from int i in 0 ..< 100
+        select {
+            empNo: string `benchmark-employee-${i}`,
+            firstName: "Tom",
+            lastName: "Scott",
+            birthDate: {year: 1992, month: 11, day: 13},
+            gender: MALE,
+            hireDate: {year: 2022, month: 8, day: 1},
+            departmentDeptNo: string `benchmark-department-${i % 10}`,
+            workspaceWorkspaceId: "benchmark-workspace"
+        });
+    check rainierClient.close();
+}
+
+function runBenchmark(string operation, H2RainierClient rainierClient, BenchmarkOperation benchmarkOperation,
+        int recordsPerOperation = 1) returns OperationReport|error {
+    decimal startTime = time:monotonicNow();
+    future<decimal[]|error>[] workers = [];
+    foreach int worker in 0 ..< benchmark.concurrency {
+        workers.push(start runBenchmarkWorker(rainierClient, benchmarkOperation, worker));
+    }
+    decimal[] latencies = [];
+    foreach future<decimal[]|error> worker in workers {
+        latencies.push(...check wait worker);
+    }
+    decimal elapsedTime = time:monotonicNow() - startTime;
+
+    decimal[] sortedLatencies = latencies.sort();
+    return {
+        operation,
+        concurrency: benchmark.concurrency,
+        operations: sortedLatencies.length(),
+        recordsPerOperation,
+        throughput: <decimal>sortedLatencies.length() / elapsedTime,
+        meanLatencyMs: decimal:sum(...sortedLatencies) / <decimal>sortedLatencies.length(),
+        p50LatencyMs: getPercentile(sortedLatencies, 0.50),
+        p90LatencyMs: getPercentile(sortedLatencies, 0.90),
+        p99LatencyMs: getPercentile(sortedLatencies, 0.99),
+        maxLatencyMs: sortedLatencies[sortedLatencies.length() - 1]
+    };
+}
+
+isolated function runBenchmarkWorker(H2RainierClient rainierClient, BenchmarkOperation benchmarkOperation, int worker)
+        returns decimal[]|error {
+    decimal[] latencies = [];
+    foreach int iteration in 0 ..< benchmark.iterations {
+        decimal startTime = time:monotonicNow();
+        check benchmarkOperation(rainierClient, worker, iteration);
+        latencies.push((time:monotonicNow() - startTime) * 1000);
+    }
+    return latencies;
+}
+
+isolated function getPercentile(decimal[] sortedValues, decimal percentile) returns decimal {
+    int index = <int>(<decimal>sortedValues.length() * percentile).ceiling() - 1;
+    return sortedValues[int:max(0, index)];
+}
+
+isolated function getBenchmarkBuildingCode(int worker, int iteration, int index = 0) returns string {
+    return string `benchmark-${worker}-${iteration}-${index}`;
+}
+
+isolated function postBuildings(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    BuildingInsert[] buildings = from int index in 0 ..< benchmark.batchSize
+        select {
+            buildingCode: getBenchmarkBuildingCode(worker, iteration, index),
+            city: BENCHMARK_CITY,
+            state: "State",
+            country: "Country",
+            postalCode: "00000",
+            'type: "owned"
+        };
+    _ = check rainierClient->/buildings.post(buildings);
+}
+
+isolated function getBuilding(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    Building _ = check rainierClient->/buildings/[getBenchmarkBuildingCode(worker, iteration)].get();
+}
+
+isolated function getBuildingsByCity(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    stream<Building, error?> buildingStream = rainierClient->/buildings.get();
+    Building[] _ = check from Building building in buildingStream
+        where building.city == BENCHMARK_CITY
+        limit benchmark.batchSize
+        select building;
+}
+
+isolated function getDepartmentsWithEmployees(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    DepartmentInfo[] _ = check rainierClient->/departments/list.get();
+}
+
+isolated function putBuilding(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    _ = check rainierClient->/buildings/[getBenchmarkBuildingCode(worker, iteration)].put({postalCode: "11111"});
+}
+
+isolated function deleteBuilding(H2RainierClient rainierClient, int worker, int iteration) returns error? {
+    _ = check rainierClient->/buildings/[getBenchmarkBuildingCode(worker, iteration)].delete();
+}
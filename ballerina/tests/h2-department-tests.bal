@@ -16,6 +16,7 @@
 
 import ballerina/test;
 import ballerina/persist;
+import ballerina/sql;
 
 @test:Config {
     groups: ["department", "h2"]
@@ -215,3 +216,246 @@ function h2DepartmentDeleteTestNegative() returns error? {
     }
     check rainierClient.close();
 }
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentMultiRowInsertTest() returns error? {
+    // Limiting the rows per statement makes the three records span two multi-row `INSERT` statements.
+    check runWithFixture(getH2DepartmentFixture({multiRowInsert: true}, {...H2_SPECIFICS, maxInsertRows: 2}), function(DepartmentFixture fixture) returns error? {
+
+        Department[] departments = getDepartments("mr", 3, "Multi Row");
+        sql:ExecutionResult[] results = check fixture.insert(departments);
+        test:assertEquals(results.length(), departments.length());
+        foreach sql:ExecutionResult result in results {
+            test:assertEquals(result.affectedRowCount, 1);
+        }
+        foreach Department department in departments {
+            test:assertEquals(check fixture.read(department.deptNo), department);
+        }
+
+        sql:ExecutionResult[]|error duplicate = fixture.insert([departments[0], departments[1]]);
+        if duplicate is persist:AlreadyExistsError {
+            test:assertTrue(duplicate.message().includes("Department"));
+        } else {
+            test:assertFail("AlreadyExistsError expected.");
+        }
+    });
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentReturningUpdateDeleteTest() returns error? {
+    // The records are returned from the delta tables of the statements, or read with a further query.
+    foreach ReturningClause returningClause in [DELTA_TABLE, NO_RETURNING_CLAUSE] {
+        check runWithFixture(getH2DepartmentFixture(dataSourceSpecifics = {...H2_SPECIFICS, returningClause}), function(DepartmentFixture fixture) returns error? {
+            check assertReturningUpdateDelete(fixture, "rt");
+        });
+    }
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentUpsertTest() returns error? {
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertBatchUpsert(fixture, "up");
+
+        // `MERGE ... KEY` updates all the fields of the existing records.
+        sql:ExecutionResult[]|error partialUpsert = fixture.upsert(getDepartments("up", 1, "Upsert"), ["deptName"]);
+        if partialUpsert is persist:Error {
+            test:assertEquals(partialUpsert.message(), "The update fields of the entity 'Department' cannot be given as the data source updates all the fields of an upserted record.");
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+    });
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentUpdateWhereTest() returns error? {
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = getDepartments("uw", 3, "Update Where");
+        _ = check fixture.insert(departments);
+
+        string[] deptNos = ["department-uw-1", "department-uw-2"];
+        int updatedCount = check fixture.sqlClient.runUpdateWhereQuery({deptName: "Update Where Updated"},
+            `"Department"."deptNo" IN (${deptNos})`);
+        test:assertEquals(updatedCount, 2);
+        foreach Department department in departments {
+            string deptName = deptNos.indexOf(department.deptNo) is int ? "Update Where Updated" : department.deptName;
+            test:assertEquals(check fixture.read(department.deptNo), {deptNo: department.deptNo, deptName});
+        }
+
+        updatedCount = check fixture.sqlClient.runUpdateWhereQuery({deptName: "Update Where"}, `"Department"."deptNo" = ${"department-uw-0"}`);
+        test:assertEquals(updatedCount, 0);
+
+        // An empty filter would update all the records of the entity.
+        int|persist:Error emptyWhere = fixture.sqlClient.runUpdateWhereQuery({deptName: "Update Where"}, ` `);
+        if emptyWhere is persist:Error {
+            test:assertEquals(emptyWhere.message(), "The where clause of the update of the entity 'Department' cannot be empty.");
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+        test:assertEquals(check fixture.read("department-uw-1"), {deptNo: "department-uw-1", deptName: "Update Where Updated"});
+    });
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentTranslatedPredicateTest() returns error? {
+    // The predicates are written as the compiler plugin translates the `startsWith`, `endsWith`, `includes` and
+    // `indexOf` calls of a query.
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = [
+            {deptNo: "department-pr-1", deptName: "100% Sales"},
+            {deptNo: "department-pr-2", deptName: "100_ Sales"},
+            {deptNo: "department-pr-3", deptName: "Sales!"},
+            {deptNo: "department-pr-4", deptName: "Sales"},
+            {deptNo: "department-pr-5", deptName: "[A] Sales"},
+            {deptNo: "department-pr-6", deptName: "A Sales"}
+        ];
+        _ = check fixture.insert(departments);
+        sql:ParameterizedQuery fixtureRows = `"Department"."deptNo" LIKE ${"department-pr-%"}`;
+
+        // The escaped special characters of the literal patterns are matched literally.
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptName" LIKE ${"100!% %"} ESCAPE '!'`)), [departments[0]]);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptName" LIKE ${"%!_%"} ESCAPE '!'`)), [departments[1]]);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptName" LIKE ${"%!!"} ESCAPE '!'`)), [departments[2]]);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptName" LIKE ${"[A]%"} ESCAPE '!'`)), [departments[4]]);
+
+        // The special characters of the variables are escaped when the query is executed.
+        foreach [string, Department[]] [value, expected] in [
+                ["0%", [departments[0]]],
+                ["0_", [departments[1]]],
+                ["s!", [departments[2]]],
+                ["[A]", [departments[4]]]
+            ] {
+            test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+                ` AND "Department"."deptName" LIKE ${getIncludesPattern(value)} ESCAPE '!'`)), expected);
+        }
+
+        // The lists are expanded into a parameter per member, and the nil members are dropped.
+        string?[] deptNos = ["department-pr-1", (), "department-pr-3"];
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptNo" IN ( ${deptNos} )`)), [departments[0], departments[2]]);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptNo" NOT IN ( ${deptNos} )`)),
+            [departments[1], departments[3], departments[4], departments[5]]);
+
+        // An empty list matches no row with `IN` and every row with `NOT IN`.
+        string[] noDeptNos = [];
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptNo" IN ( ${noDeptNos} )`)), []);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptNo" NOT IN ( ${noDeptNos} )`)), departments);
+        string?[] nilDeptNos = [()];
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND "Department"."deptNo" NOT IN ( ${nilDeptNos} )`)), departments);
+    });
+}
+
+// Returns the pattern of `e.deptName.includes(value)` in the format generated by the compiler plugin
+function getIncludesPattern(string value) returns string {
+    return "%" + re `_`.replaceAll(re `%`.replaceAll(re `!`.replaceAll((value), "!!"), "!%"), "!_") + "%";
+}
+
+function readDepartments(DepartmentFixture fixture, sql:ParameterizedQuery whereClause) returns record {}[]|error {
+    stream<record {}, sql:Error?> resultStream = check fixture.sqlClient.runReadQuery(Department,
+        ["deptNo", "deptName"], whereClause = whereClause);
+    return from record {} row in resultStream
+        order by <string>row["deptNo"]
+        select row;
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentBatchDeleteTest() returns error? {
+    // The keys are deleted with a statement per chunk of two keys.
+    check runWithFixture(getH2DepartmentFixture({relationBatchSize: 2}), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = from int i in 1 ... 5
+            select {deptNo: string `department-bd-${i}`, deptName: i % 2 == 0 ? "Batch Delete Even" : "Batch Delete"};
+        _ = check fixture.insert(departments);
+
+        int deletedCount = check fixture.sqlClient.runBatchDeleteQuery(["department-bd-1", "department-bd-2", "department-bd-3", "department-bd-0"]);
+        test:assertEquals(deletedCount, 3);
+        record {}|error deleted = fixture.read("department-bd-2");
+        if deleted !is persist:NotFoundError {
+            test:assertFail("NotFoundError expected.");
+        }
+
+        deletedCount = check fixture.sqlClient.runDeleteWhereQuery(`"Department"."deptName" = ${"Batch Delete Even"}`);
+        test:assertEquals(deletedCount, 1);
+        test:assertEquals(check fixture.read("department-bd-5"), departments[4]);
+
+        // An empty filter would delete all the records of the entity.
+        int|persist:Error emptyWhere = fixture.sqlClient.runDeleteWhereQuery(``);
+        if emptyWhere is persist:Error {
+            test:assertEquals(emptyWhere.message(), "The where clause of the delete of the entity 'Department' cannot be empty.");
+        } else {
+            test:assertFail("persist:Error expected.");
+        }
+        test:assertEquals(check fixture.read("department-bd-5"), departments[4]);
+
+        deletedCount = check fixture.sqlClient.runBatchDeleteQuery([]);
+        test:assertEquals(deletedCount, 0);
+        deletedCount = check fixture.sqlClient.runDeleteWhereQuery(`"Department"."deptNo" IN (${["department-bd-5"]})`);
+        test:assertEquals(deletedCount, 1);
+    });
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentReadByKeysTest() returns error? {
+    // The keys are read with a query per chunk of two distinct keys.
+    check runWithFixture(getH2DepartmentFixture({relationBatchSize: 2}), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = getDepartments("rk", 3, "Read By Keys");
+        _ = check fixture.insert(departments);
+
+        KeyedRecords result = check fixture.sqlClient.runReadByKeysQuery(DepartmentRows, Department, Department,
+            ["department-rk-3", "department-rk-0", "department-rk-1", "department-rk-3", "department-rk-2"], ["deptNo", "deptName"]);
+        test:assertEquals(result.records, [departments[2], departments[0], departments[2], departments[1]]);
+        test:assertEquals(result.missingKeys, ["department-rk-0"]);
+
+        // The key fields are only retrieved to match the records with the keys.
+        KeyedRecords names = check fixture.sqlClient.runReadByKeysQuery(DepartmentNameRows, DepartmentName, Department,
+            ["department-rk-2"], ["deptName"]);
+        test:assertEquals(names.records, [{deptName: "Read By Keys 2"}]);
+    });
+}
+
+@test:Config {
+    groups: ["department", "h2"]
+}
+function h2DepartmentReadByKeysClientTest() returns error? {
+    check runWithFixture(getH2DepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = getDepartments("rkc", 2, "Read By Keys Client");
+        _ = check fixture.insert(departments);
+
+        H2RainierClient rainierClient = check new ();
+        KeyedRecords result = check rainierClient->/departments/keys.get(deptNos = ["department-rkc-2", "DEPARTMENT-RKC-1", "department-rkc-1"]);
+        test:assertEquals(result.records, [departments[1], departments[0]]);
+        test:assertEquals(result.missingKeys, ["DEPARTMENT-RKC-1"]);
+
+        KeyedRecords names = check rainierClient->/departments/keys.get(deptNos = ["department-rkc-1"], targetType = DepartmentName);
+        test:assertEquals(names.records, [{deptName: "Read By Keys Client 1"}]);
+        check rainierClient.close();
+    });
+}
+
+type DepartmentRows Department[];
+
+type DepartmentName record {|
+    string deptName;
+|};
+
+type DepartmentNameRows DepartmentName[];
@@ -133,8 +133,8 @@ public isolated client class H2RainierClient {
         }
     };
 
-    public isolated function init() returns persist:Error? {
-        jdbc:Client|error dbClient = new (url = h2.url, user = h2.user, password = h2.password, options = {...h2.connectionOptions});
+    public isolated function init(string url = h2.url) returns persist:Error? {
+        jdbc:Client|error dbClient = new (url = url, user = h2.user, password = h2.password, options = {...h2.connectionOptions});
         if dbClient is error {
             return <persist:Error>error(dbClient.message());
         }
@@ -280,6 +280,11 @@ public isolated client class H2RainierClient {
         name: "queryOne"
     } external;
 
+    isolated resource function get departments/keys(string[] deptNos, DepartmentTargetType targetType = Department) returns KeyedRecords|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "queryMany"
+    } external;
+
     isolated resource function post departments(DepartmentInsert[] data) returns string[]|persist:Error {
         SQLClient sqlClient;
         lock {
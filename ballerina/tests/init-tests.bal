@@ -325,62 +325,7 @@ function initPostgreSqlTests() returns error? {
 
 function initH2Tests() returns error? {
     jdbc:Client h2DbClient = check new (url = h2.url, user = h2.user, password = h2.password);
-    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Building"`);
-    _ = check h2DbClient->execute(`
-        CREATE TABLE "Building" (
-            "buildingCode" VARCHAR(36) PRIMARY KEY,
-            "city" VARCHAR(50),
-            "state" VARCHAR(50),
-            "country" VARCHAR(50),
-            "postalCode" VARCHAR(50),
-            "type" VARCHAR(50)
-        )
-    `);
-
-    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Workspace"`);
-    _ = check h2DbClient->execute(`
-        CREATE TABLE "Workspace" (
-            "workspaceId" VARCHAR(36) PRIMARY KEY,
-            "workspaceType" VARCHAR(10),
-            "locationBuildingCode" VARCHAR(36),
-            FOREIGN KEY ("locationBuildingCode") REFERENCES "Building"("buildingCode")
-        )
-    `);
-
-    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Department"`);
-    _ = check h2DbClient->execute(`
-        CREATE TABLE "Department" (
-            "deptNo" VARCHAR(36) PRIMARY KEY,
-            "deptName" VARCHAR(30)
-        )
-    `);
-
-    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Employee"`);
-    _ = check h2DbClient->execute(`
-        CREATE TABLE "Employee" (
-            "empNo" VARCHAR(36) PRIMARY KEY,
-            "firstName" VARCHAR(30),
-            "lastName" VARCHAR(30),
-            "birthDate" DATE,
-            "gender" VARCHAR(6) CHECK ("gender" IN ('MALE', 'FEMALE')) NOT NULL,
-            "hireDate" DATE,
-            "departmentDeptNo" VARCHAR(36),
-            "workspaceWorkspaceId" VARCHAR(36),
-            FOREIGN KEY ("departmentDeptNo") REFERENCES "Department"("deptNo"),
-            FOREIGN KEY ("workspaceWorkspaceId") REFERENCES "Workspace"("workspaceId")
-        )
-    `);
-
-    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "OrderItem"`);
-    _ = check h2DbClient->execute(`
-        CREATE TABLE "OrderItem" (
-            "orderId" VARCHAR(36),
-            "itemId" VARCHAR(30),
-            "quantity" INTEGER,
-            "notes" VARCHAR(255),
-            PRIMARY KEY("orderId", "itemId")
-        )
-    `);
+    check createH2RainierTables(h2DbClient);
 
     _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "AllTypes"`);
     _ = check h2DbClient->execute(`
@@ -543,6 +488,66 @@ function initH2Tests() returns error? {
     check h2DbClient.close();
 }
 
+// Creates the tables of the entities of `H2RainierClient`
+function createH2RainierTables(jdbc:Client h2DbClient) returns error? {
+    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Building"`);
+    _ = check h2DbClient->execute(`
+        CREATE TABLE "Building" (
+            "buildingCode" VARCHAR(36) PRIMARY KEY,
+            "city" VARCHAR(50),
+            "state" VARCHAR(50),
+            "country" VARCHAR(50),
+            "postalCode" VARCHAR(50),
+            "type" VARCHAR(50)
+        )
+    `);
+
+    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Workspace"`);
+    _ = check h2DbClient->execute(`
+        CREATE TABLE "Workspace" (
+            "workspaceId" VARCHAR(36) PRIMARY KEY,
+            "workspaceType" VARCHAR(10),
+            "locationBuildingCode" VARCHAR(36),
+            FOREIGN KEY ("locationBuildingCode") REFERENCES "Building"("buildingCode")
+        )
+    `);
+
+    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Department"`);
+    _ = check h2DbClient->execute(`
+        CREATE TABLE "Department" (
+            "deptNo" VARCHAR(36) PRIMARY KEY,
+            "deptName" VARCHAR(30)
+        )
+    `);
+
+    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "Employee"`);
+    _ = check h2DbClient->execute(`
+        CREATE TABLE "Employee" (
+            "empNo" VARCHAR(36) PRIMARY KEY,
+            "firstName" VARCHAR(30),
+            "lastName" VARCHAR(30),
+            "birthDate" DATE,
+            "gender" VARCHAR(6) CHECK ("gender" IN ('MALE', 'FEMALE')) NOT NULL,
+            "hireDate" DATE,
+            "departmentDeptNo" VARCHAR(36),
+            "workspaceWorkspaceId" VARCHAR(36),
+            FOREIGN KEY ("departmentDeptNo") REFERENCES "Department"("deptNo"),
+            FOREIGN KEY ("workspaceWorkspaceId") REFERENCES "Workspace"("workspaceId")
+        )
+    `);
+
+    _ = check h2DbClient->execute(`DROP TABLE IF EXISTS "OrderItem"`);
+    _ = check h2DbClient->execute(`
+        CREATE TABLE "OrderItem" (
+            "orderId" VARCHAR(36),
+            "itemId" VARCHAR(30),
+            "quantity" INTEGER,
+            "notes" VARCHAR(255),
+            PRIMARY KEY("orderId", "itemId")
+        )
+    `);
+}
+
 AllTypes allTypes1 = {
     id: 1,
     booleanType: false,
@@ -16,6 +16,7 @@
 
 import ballerina/test;
 import ballerina/persist;
+import ballerina/sql;
 
 @test:Config {
     groups: ["department", "mssql"]
@@ -215,3 +216,47 @@ function mssqlDepartmentDeleteTestNegative() returns error? {
     }
     check rainierClient.close();
 }
+
+@test:Config {
+    groups: ["department", "mssql"]
+}
+function mssqlDepartmentReturningUpdateDeleteTest() returns error? {
+    // The records are returned from the `OUTPUT` clauses of the statements.
+    check runWithFixture(getMSSQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertReturningUpdateDelete(fixture, "rt");
+    });
+}
+
+@test:Config {
+    groups: ["department", "mssql"]
+}
+function mssqlDepartmentUpsertTest() returns error? {
+    check runWithFixture(getMSSQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertBatchUpsert(fixture, "up");
+    });
+}
+
+@test:Config {
+    groups: ["department", "mssql"]
+}
+function mssqlDepartmentTranslatedPredicateTest() returns error? {
+    // `[...]` matches a character class in a `LIKE` pattern of MSSQL, hence its `[` is escaped when the query is
+    // executed.
+    check runWithFixture(getMSSQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = [
+            {deptNo: "department-pr-1", deptName: "[A] Sales"},
+            {deptNo: "department-pr-2", deptName: "A Sales"}
+        ];
+        _ = check fixture.insert(departments);
+        sql:ParameterizedQuery fixtureRows = `[Department].[deptNo] LIKE ${"department-pr-%"}`;
+
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND [Department].[deptName] LIKE ${"[A]%"} ESCAPE '!'`)), [departments[0]]);
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND [Department].[deptName] LIKE ${getIncludesPattern("[A]")} ESCAPE '!'`)), [departments[0]]);
+
+        // The patterns which are not generated by the compiler plugin are passed as they are.
+        test:assertEquals(check readDepartments(fixture, sql:queryConcat(fixtureRows,
+            ` AND [Department].[deptName] LIKE ${"[A]%"}`)), [departments[1]]);
+    });
+}
@@ -215,3 +215,29 @@ function mysqlDepartmentDeleteTestNegative() returns error? {
     }
     check rainierClient.close();
 }
+
+@test:Config {
+    groups: ["department", "mysql"]
+}
+function mysqlDepartmentUpsertTest() returns error? {
+    check runWithFixture(getMySQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertBatchUpsert(fixture, "up");
+    });
+}
+
+@test:Config {
+    groups: ["department", "mysql"]
+}
+function mysqlDepartmentReadByKeysTest() returns error? {
+    check runWithFixture(getMySQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        Department[] departments = getDepartments("rk", 2, "Read By Keys");
+        _ = check fixture.insert(departments);
+
+        // The case-insensitive collation matches the keys which differ from the stored keys only by case, including
+        // the keys which differ from each other only by case.
+        KeyedRecords result = check fixture.sqlClient.runReadByKeysQuery(DepartmentRows, Department, Department,
+            ["DEPARTMENT-RK-2", "department-rk-2", "department-rk-1", "department-rk-0"], ["deptNo", "deptName"]);
+        test:assertEquals(result.records, [departments[1], departments[1], departments[0]]);
+        test:assertEquals(result.missingKeys, ["department-rk-0"]);
+    });
+}
@@ -215,3 +215,22 @@ function postgresqlDepartmentDeleteTestNegative() returns error? {
     }
     check rainierClient.close();
 }
+
+@test:Config {
+    groups: ["department", "postgresql"]
+}
+function postgresqlDepartmentReturningUpdateDeleteTest() returns error? {
+    // The records are returned from the `RETURNING` clauses of the statements.
+    check runWithFixture(getPostgreSQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertReturningUpdateDelete(fixture, "rt");
+    });
+}
+
+@test:Config {
+    groups: ["department", "postgresql"]
+}
+function postgresqlDepartmentUpsertTest() returns error? {
+    check runWithFixture(getPostgreSQLDepartmentFixture(), function(DepartmentFixture fixture) returns error? {
+        check assertBatchUpsert(fixture, "up");
+    });
+}
@@ -0,0 +1,175 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/persist;
+import ballerina/sql;
+import ballerina/test;
+import ballerinax/java.jdbc;
+import ballerinax/mssql;
+import ballerinax/mysql;
+import ballerinax/postgresql;
+
+// An `SQLClient` of the `Department` entity over a database client of its own, which tests the operations of the
+// `SQLClient` that the generated clients do not expose. The departments inserted through the fixture are deleted
+// when the fixture is closed.
+class DepartmentFixture {
+    final sql:Client dbClient;
+    final SQLClient sqlClient;
+    private final DataSourceSpecifics & readonly dataSourceSpecifics;
+    private final string[] deptNos = [];
+
+    function init(sql:Client dbClient, DataSourceSpecifics & readonly dataSourceSpecifics,
+            SQLClientConfiguration configuration = {}) returns error? {
+        SQLClient|persist:Error sqlClient = new (dbClient, getDepartmentMetadata(), dataSourceSpecifics, configuration);
+        if sqlClient is persist:Error {
+            check dbClient.close();
+            return sqlClient;
+        }
+        self.dbClient = dbClient;
+        self.sqlClient = sqlClient;
+        self.dataSourceSpecifics = dataSourceSpecifics;
+    }
+
+    function insert(Department[] departments) returns sql:ExecutionResult[]|error {
+        self.addDeptNos(departments);
+        return self.sqlClient.runBatchInsertQuery(departments);
+    }
+
+    function upsert(Department[] departments, string[]? updateFields = ()) returns sql:ExecutionResult[]|error {
+        self.addDeptNos(departments);
+        return self.sqlClient.runBatchUpsertQuery(departments, updateFields);
+    }
+
+    function read(string deptNo) returns record {}|error {
+        return self.sqlClient.runReadByKeyQuery(Department, Department, deptNo, ["deptNo", "deptName"]);
+    }
+
+    private function addDeptNos(Department[] departments) {
+        foreach Department department in departments {
+            self.deptNos.push(department.deptNo);
+        }
+    }
+
+    // The departments are deleted with a plain statement, so that the cleanup does not depend on the operations
+    // of the `SQLClient` under test
+    function close() returns error? {
+        if self.deptNos.length() > 0 {
+            string quoteOpen = self.dataSourceSpecifics.quoteOpen;
+            string quoteClose = self.dataSourceSpecifics.quoteClose;
+            sql:ParameterizedQuery deleteQuery = sql:queryConcat(
+                stringToParameterizedQuery(string `DELETE FROM ${quoteOpen}Department${quoteClose} WHERE ${quoteOpen}deptNo${quoteClose} IN (`),
+                sql:arrayFlattenQuery(self.deptNos), `)`);
+            _ = check self.dbClient->execute(deleteQuery);
+        }
+        check self.dbClient.close();
+    }
+}
+
+// Runs the assertions over the fixture and closes it even if an assertion fails, so that no department inserted
+// through the fixture is left in the database.
+function runWithFixture(DepartmentFixture|error fixture, function (DepartmentFixture fixture) returns error? assertions)
+        returns error? {
+    DepartmentFixture departmentFixture = check fixture;
+    error? result = trap assertions(departmentFixture);
+    error? closeResult = departmentFixture.close();
+    check result;
+    return closeResult;
+}
+
+// Returns the departments `department-<prefix>-1` to `department-<prefix>-<count>` named `<deptName> <n>`.
+function getDepartments(string prefix, int count, string deptName) returns Department[] {
+    return from int i in 1 ... count
+        select {deptNo: string `department-${prefix}-${i}`, deptName: string `${deptName} ${i}`};
+}
+
+function getH2DepartmentFixture(SQLClientConfiguration configuration = {},
+        DataSourceSpecifics & readonly dataSourceSpecifics = H2_SPECIFICS) returns DepartmentFixture|error {
+    jdbc:Client dbClient = check new (url = h2.url, user = h2.user, password = h2.password);
+    return new (dbClient, dataSourceSpecifics, configuration);
+}
+
+function getMSSQLDepartmentFixture(SQLClientConfiguration configuration = {}) returns DepartmentFixture|error {
+    mssql:Client dbClient = check new (host = mssql.host, user = mssql.user, password = mssql.password, database = mssql.database, port = mssql.port);
+    return new (dbClient, MSSQL_SPECIFICS, configuration);
+}
+
+function getMySQLDepartmentFixture(SQLClientConfiguration configuration = {}) returns DepartmentFixture|error {
+    mysql:Client dbClient = check new (host = mysql.host, user = mysql.user, password = mysql.password, database = mysql.database, port = mysql.port);
+    return new (dbClient, MYSQL_SPECIFICS, configuration);
+}
+
+function getPostgreSQLDepartmentFixture(SQLClientConfiguration configuration = {}) returns DepartmentFixture|error {
+    postgresql:Client dbClient = check new (host = postgresql.host, username = postgresql.user, password = postgresql.password, database = postgresql.database, port = postgresql.port);
+    return new (dbClient, POSTGRESQL_SPECIFICS, configuration);
+}
+
+// Asserts that the updated and the deleted records are returned by the statements of the data source.
+function assertReturningUpdateDelete(DepartmentFixture fixture, string prefix) returns error? {
+    Department department = getDepartments(prefix, 1, "Returning")[0];
+    _ = check fixture.insert([department]);
+    Department updatedDepartment = {deptNo: department.deptNo, deptName: "Returning Updated"};
+
+    record {} updated = check fixture.sqlClient.runUpdateReturningQuery(Department, department.deptNo, {deptName: updatedDepartment.deptName});
+    test:assertEquals(updated, updatedDepartment);
+    record {} deleted = check fixture.sqlClient.runDeleteReturningQuery(Department, department.deptNo);
+    test:assertEquals(deleted, updatedDepartment);
+
+    record {}|persist:Error notUpdated = fixture.sqlClient.runUpdateReturningQuery(Department, department.deptNo, {deptName: "Returning"});
+    if notUpdated is persist:NotFoundError {
+        test:assertEquals(notUpdated.message(), string `A record with the key '${department.deptNo}' does not exist for the entity 'Department'.`);
+    } else {
+        test:assertFail("NotFoundError expected.");
+    }
+    record {}|persist:Error notDeleted = fixture.sqlClient.runDeleteReturningQuery(Department, department.deptNo);
+    if notDeleted !is persist:NotFoundError {
+        test:assertFail("NotFoundError expected.");
+    }
+}
+
+// Asserts that the existing records are updated and the new records are inserted by the upsert statement of the
+// data source.
+function assertBatchUpsert(DepartmentFixture fixture, string prefix) returns error? {
+    Department[] departments = getDepartments(prefix, 3, "Upsert");
+    _ = check fixture.upsert(departments.slice(0, 2));
+    Department[] upsertedDepartments = [{deptNo: departments[1].deptNo, deptName: "Upsert Updated"}, departments[2]];
+    sql:ExecutionResult[] results = check fixture.upsert(upsertedDepartments);
+    test:assertEquals(results.length(), upsertedDepartments.length());
+    foreach Department department in [departments[0], ...upsertedDepartments] {
+        test:assertEquals(check fixture.read(department.deptNo), department);
+    }
+
+    sql:ExecutionResult[]|error invalidUpsert = fixture.upsert(departments, ["deptNo"]);
+    if invalidUpsert is persist:Error {
+        test:assertEquals(invalidUpsert.message(), "The key field 'deptNo' of the entity 'Department' cannot be updated.");
+    } else {
+        test:assertFail("persist:Error expected.");
+    }
+}
+
+isolated function getDepartmentMetadata() returns SQLMetadata & readonly {
+    return {
+        entityName: "Department",
+        tableName: "Department",
+        fieldMetadata: {
+            deptNo: {columnName: "deptNo"},
+            deptName: {columnName: "deptName"},
+            "employees[].firstName": {relation: {entityName: "employees", refField: "firstName"}},
+            "employees[].lastName": {relation: {entityName: "employees", refField: "lastName"}}
+        },
+        keyFields: ["deptNo"],
+        joinMetadata: {employees: {entity: Employee, fieldName: "employees", refTable: "Employee", refColumns: ["departmentDeptNo"], joinColumns: ["deptNo"], 'type: MANY_TO_ONE}}
+    };
+}
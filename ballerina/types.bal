@@ -18,3 +18,53 @@ public type ExecutionResult record {
     int? affectedRowCount;
     string|int? lastInsertId;
 };
+
+# Represents the configurations used to tune the queries issued by the `SQLClient`.
+#
+# + relationBatchSize - The maximum number of parent records for which the 'many' side of an association
+#                       is retrieved with a single `SELECT ... WHERE ... IN` query when reading records as a list
+#                       and the maximum number of keys read or deleted with a single `WHERE ... IN` statement.
+#                       Smaller batches are used when the bind parameter limit of the data source requires so
+# + streamPrefetchSize - The number of records read ahead by a result stream so that the 'many' side of the
+#                        associations of those records is retrieved with batched queries. When set to `1`, the
+#                        associations are retrieved per record as the stream is consumed
+# + multiRowInsert - Whether records without database generated fields are inserted with multi-row
+#                    `INSERT ... VALUES (...), (...)` statements, chunked as per the limits of the data source,
+#                    instead of a batch of single-row `INSERT` statements
+# + queryCacheSize - The maximum number of read query shapes (combinations of the retrieved fields and relations)
+#                    for which the `SELECT ... FROM ... JOIN` part of the query is cached, and the maximum number of
+#                    queries of which the complete text is cached so that a call only binds the values of the
+#                    `WHERE` clause. Set to `0` to disable caching
+public type SQLClientConfiguration record {|
+    int relationBatchSize = 1000;
+    int streamPrefetchSize = 1;
+    int queryCacheSize = 128;
+    boolean multiRowInsert = false;
+|};
+
+# Represents a field by which the records read with keyset pagination are ordered.
+#
+# + 'field - The name of the field
+# + descending - Whether the records are ordered in the descending order of the field
+public type OrderByField record {|
+    string 'field;
+    boolean descending = false;
+|};
+
+# Represents a page of entity records read with keyset pagination.
+#
+# + records - The records of the page
+# + nextCursor - The cursor used to read the following page, or `()` if this is the last page
+public type Page record {|
+    record {}[] records;
+    string? nextCursor;
+|};
+
+# Represents the entity records read for a list of keys.
+#
+# + records - The records of the keys which exist, in the order of the keys
+# + missingKeys - The keys for which a record does not exist, in the order of the keys
+public type KeyedRecords record {|
+    record {}[] records;
+    anydata[] missingKeys;
+|};
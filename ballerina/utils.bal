@@ -14,8 +14,10 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/jballerina.java;
 import ballerina/sql;
 import ballerina/persist;
+import ballerina/time;
 
 isolated function stringToParameterizedQuery(string queryStr) returns sql:ParameterizedQuery {
     sql:ParameterizedQuery query = ``;
@@ -42,3 +44,176 @@ isolated function arrayToParameterizedQuery(string[] arr, sql:ParameterizedQuery
     }
     return query;
 }
+
+isolated function getAssociationKeyAlias(string joinKey) returns string {
+    return ASSOCIATION_KEY_ALIAS_PREFIX + "_" + joinKey;
+}
+
+isolated function toParameterizedQuery(string[] strings, sql:Value[] insertions) returns sql:ParameterizedQuery {
+    sql:ParameterizedQuery query = ``;
+    query.strings = strings.cloneReadOnly();
+    query.insertions = insertions;
+    return query;
+}
+
+// Returns the string form of the key values in which the values a data source may consider equal are folded, i.e.
+// the strings are lowercased (case-insensitive collations) and the decimals are compared by their value regardless
+// of their scale.
+isolated function getFoldedKey(anydata[] values) returns string {
+    anydata[] foldedValues = from anydata value in values
+        select value is string ? value.toLowerAscii() : (value is decimal ? getFoldedDecimal(value) : value);
+    return foldedValues.toString();
+}
+
+// Returns the digits of a decimal without the trailing zeros of its fraction, e.g. `1.50` and `1.5` are both `1.5`
+isolated function getFoldedDecimal(decimal value) returns string {
+    string digits = value.toString();
+    if !digits.includes(".") || digits.includes("E") {
+        return digits;
+    }
+    int end = digits.length();
+    while digits[end - 1] == "0" {
+        end -= 1;
+    }
+    if digits[end - 1] == "." {
+        end -= 1;
+    }
+    return digits.substring(0, end);
+}
+
+// Returns the tag of the type of a value of a page cursor, or `()` if the value cannot be a cursor value. The JSON
+// form of a value does not retain its type, e.g. a `time:Date` becomes a mapping and a `float` a JSON number, so the
+// values are tagged to be bound with the same SQL types as the ordering fields when the following page is read.
+isolated function getCursorValueType(anydata value) returns string? {
+    if value is string {
+        return "string";
+    } else if value is int {
+        return "int";
+    } else if value is float {
+        return "float";
+    } else if value is decimal {
+        return "decimal";
+    } else if value is boolean {
+        return "boolean";
+    } else if value is byte[] {
+        return "byte[]";
+    } else if value is time:Civil {
+        return "time:Civil";
+    } else if value is time:Date {
+        return "time:Date";
+    } else if value is time:TimeOfDay {
+        return "time:TimeOfDay";
+    } else if value is time:Utc {
+        return "time:Utc";
+    }
+    return ();
+}
+
+isolated function getCursorValue(string valueType, json value) returns sql:Value|error {
+    match valueType {
+        "string" => {
+            return value.fromJsonWithType(string);
+        }
+        "int" => {
+            return value.fromJsonWithType(int);
+        }
+        "float" => {
+            return value.fromJsonWithType(float);
+        }
+        "decimal" => {
+            return value.fromJsonWithType(decimal);
+        }
+        "boolean" => {
+            return value.fromJsonWithType(boolean);
+        }
+        "byte[]" => {
+            return value.fromJsonWithType(byte[]);
+        }
+        "time:Civil" => {
+            return value.fromJsonWithType(time:Civil);
+        }
+        "time:Date" => {
+            return value.fromJsonWithType(time:Date);
+        }
+        "time:TimeOfDay" => {
+            return value.fromJsonWithType(time:TimeOfDay);
+        }
+        "time:Utc" => {
+            return value.fromJsonWithType(time:Utc);
+        }
+    }
+    return error(string `Unsupported cursor value type '${valueType}'.`);
+}
+
+isolated function isEmptyQuery(sql:ParameterizedQuery query) returns boolean {
+    return query.insertions.length() == 0 && string:'join("", ...query.strings).trim() == "";
+}
+
+isolated function hasListInsertion(sql:ParameterizedQuery query) returns boolean {
+    foreach sql:Value insertion in query.insertions {
+        if insertion is anydata[] && insertion !is byte[] {
+            return true;
+        }
+    }
+    return false;
+}
+
+// Escapes the `[` of the patterns of the `LIKE` predicates generated by the compiler plugin, for the data sources in
+// which `[...]` matches a character class. The compiler plugin only escapes the wildcards of standard SQL, as the other
+// data sources may reject an escape character which does not precede a wildcard, e.g. H2 rejects `![`.
+isolated function escapeLikeCharacterClasses(sql:ParameterizedQuery query) returns sql:ParameterizedQuery {
+    sql:Value[] insertions = [];
+    foreach int i in 0 ..< query.insertions.length() {
+        sql:Value insertion = query.insertions[i];
+        if insertion is string && query.strings[i].trim().endsWith("LIKE")
+                && query.strings[i + 1].trim().startsWith(LIKE_ESCAPE_CLAUSE) {
+            insertions.push(re `\[`.replaceAll(insertion, "!["));
+        } else {
+            insertions.push(insertion);
+        }
+    }
+    return toParameterizedQuery(query.strings, insertions);
+}
+
+// Expands the list values of the `IN` predicates generated by the compiler plugin into a parameter per member.
+// The nil members are dropped as the predicates are only generated for the columns which cannot be `NULL`, and a
+// `NULL` member would make `NOT IN` false for every row. An empty list is replaced by an empty subquery, so that `IN`
+// is false and `NOT IN` is true for every row.
+isolated function expandListInsertions(sql:ParameterizedQuery query) returns sql:ParameterizedQuery {
+    if !hasListInsertion(query) {
+        return query;
+    }
+    string[] strings = [];
+    sql:Value[] insertions = [];
+    string pendingString = query.strings[0];
+    foreach int i in 0 ..< query.insertions.length() {
+        sql:Value insertion = query.insertions[i];
+        if insertion is anydata[] && insertion !is byte[] {
+            anydata[] members = from anydata member in insertion
+                where member != ()
+                select member;
+            if members.length() == 0 {
+                pendingString += EMPTY_LIST_QUERY;
+            }
+            foreach int j in 0 ..< members.length() {
+                strings.push(j == 0 ? pendingString : ", ");
+                insertions.push(<sql:Value>members[j]);
+            }
+            if members.length() > 0 {
+                pendingString = "";
+            }
+        } else {
+            strings.push(pendingString);
+            insertions.push(insertion);
+            pendingString = "";
+        }
+        pendingString += query.strings[i + 1];
+    }
+    strings.push(pendingString);
+    return toParameterizedQuery(strings, insertions);
+}
+
+isolated function getTypedescWithOptionalFields(typedesc<record {}> rowType, string[] fieldNames)
+        returns typedesc<record {}> = @java:Method {
+    'class: "io.ballerina.stdlib.persist.sql.Utils"
+} external;
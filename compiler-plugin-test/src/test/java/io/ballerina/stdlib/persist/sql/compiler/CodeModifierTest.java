@@ -86,21 +86,17 @@ public class CodeModifierTest {
                 String modifiedFunction3 = "entities:Product[] results1 = check from entities:Product e in " +
                         "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id = ${value}  " +
                         "OR Product.id = 6 OR Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND " +
-                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `, orderByClause = " +
-                        "` ${getStringValue(\"name\")} ASC , Product.age DESC `, groupByClause = " +
-                        "` ${getValue(4)}, Product.name, Product.age`, limitClause = ` ${getValue(4)}`)\n" +
+                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `)\n" +
                         "            where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
                         "&& e.id <= 20 && e.name == getStringValue(\"Person2\")\n" +
                         "            order by getStringValue(\"name\") ascending, e.age descending\n" +
                         "            limit getValue(4)\n" +
                         "            group by var id3 = getValue(4), var name = e.name, var age = e.age\n" +
                         "            select {id: id3, name: name , age: age};\n";
+                // The order by clauses refer to a function call, and the where and group by clauses follow the
+                // limit clause, hence the queries are evaluated in memory
                 String modifiedFunction5 = "entities:Product[] output = check from entities:Product e in " +
-                        "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id = ${value}  " +
-                        "OR Product.id = 6 OR Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND " +
-                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `, " +
-                        "orderByClause = ` ${getStringValue(\"name\")} ASC , Product.age DESC `, groupByClause = " +
-                        "` ${getValue(4)}, Product.name, Product.age`, limitClause = ` ${getValue(4)}`)\n" +
+                        "mcClient->/products(targetType = entities:Product)\n" +
                         "                order by getStringValue(\"name\") ascending, e.age descending\n" +
                         "                limit getValue(4)\n" +
                         "                where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
@@ -108,12 +104,7 @@ public class CodeModifierTest {
                         "                group by var id3 = getValue(4), var name = e.name, var age = e.age\n" +
                         "                select {id: id3, name: name , age: age};\n";
                 String modifiedFunction6 = "output = check from entities:Product e in mcClient->/products(" +
-                        "targetType = entities:Product, whereClause = ` Product.id = ${value}  OR Product.id = 6 OR " +
-                        "Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND Product.id <= 20 AND " +
-                        "Product.name = " +
-                        "${getStringValue(\"Person2\")} `, orderByClause = ` ${getStringValue(\"name\")} ASC , " +
-                        "Product.age ASC `, groupByClause = ` ${getValue(4)}, Product.name, Product.age`, " +
-                        "limitClause = ` ${getValue(4)}`)\n" +
+                        "targetType = entities:Product)\n" +
                         "                order by getStringValue(\"name\"), e.age\n" +
                         "                limit getValue(4)\n" +
                         "                where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
@@ -130,6 +121,157 @@ public class CodeModifierTest {
         }
     }
 
+    @Test(enabled = true)
+    public void testCodeModifierWithLetClause() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction =
+                        "entities:Product[] letProducts = check from var e in mcClient->/products(" +
+                                "targetType = entities:Product, whereClause = ` Product.id = ${value}  OR " +
+                                "Product.id = 6`, orderByClause = ` Product.id DESC `, limitClause = ` ${value}`)\n" +
+                                "        let int productId = e.id\n" +
+                                "        where productId == value || productId == 6\n" +
+                                "        order by productId descending\n" +
+                                "        limit value\n" +
+                                "        select e;\n";
+                // The let variable is bound to an expression which cannot be translated
+                String unmodifiedFunction = "int[] names = check from entities:Product student in " +
+                        "mcClient->/products(targetType = entities:Product)\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+                Assert.assertTrue(sourceCode.contains(unmodifiedFunction));
+            }
+        }
+    }
+
+    @Test(enabled = true)
+    public void testCodeModifierWithProjection() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction = "string[] productNames = check from var e in mcClient->/products(" +
+                        "targetType = record {| int id; string name; |}, whereClause = ` Product.id = ${value} `)\n" +
+                        "        where e.id == value\n" +
+                        "        select e.name;\n";
+                String modifiedFunction1 = "record {|int id; string name;|}[] productInfo = check from var e in " +
+                        "mcClient->/products(targetType = record {| int id; string name; |})\n" +
+                        "        select {id: e.id, name: e.name};\n";
+                // The entity is selected as a whole
+                String unmodifiedFunction = "entities:Product[]|error result = from var e in mcClient->/products(" +
+                        "targetType = entities:Product, whereClause = ` Product.id = ${value}  AND ";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+                Assert.assertTrue(sourceCode.contains(modifiedFunction1));
+                Assert.assertTrue(sourceCode.contains(unmodifiedFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeModifierWithAggregates() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction = "record {|string name; int count;|}[] productCounts = check from var e in " +
+                        "mcClient->/products(targetType = record {| string name; int persistAggregate_count; |}, " +
+                        "whereClause = ` Product.id > ${value} `, groupByClause = ` Product.name`)\n" +
+                        "        group by var name = e.name\n" +
+                        "        select {name, count: sum(e.persistAggregate_count)};\n";
+                String modifiedFunction1 = "int productCount = check from var e in mcClient->/products(" +
+                        "targetType = record {| int persistAggregate_count; |})\n" +
+                        "        collect sum(e.persistAggregate_count);\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+                Assert.assertTrue(sourceCode.contains(modifiedFunction1));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeModifierWithStringAndMembershipPredicates() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction = "entities:Product[] matchedProducts = check from var e in " +
+                        "mcClient->/products(targetType = entities:Product, whereClause = ` Product.name LIKE " +
+                        "${\"p!_1%\"} ESCAPE '!'  AND Product.name LIKE ${\"%\" + " +
+                        "re `_`.replaceAll(re `%`.replaceAll(re `!`.replaceAll((namePart), \"!!\"), \"!%\"), " +
+                        "\"!_\") + \"%\"} ESCAPE '!'  AND NOT ( Product.age > ${value} )  AND " +
+                        "Product.id IN ( ${1} , ${2} )  AND Product.id NOT IN ( ${productIds} ) `)\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeModifierWithNilableFieldPredicates() {
+        Package currentPackage = loadPackage("project_1");
+        CodeModifierResult codeModifierResult = currentPackage.runCodeModifierPlugins();
+        List<String> warnings = codeModifierResult.reportedDiagnostics().diagnostics().stream()
+                .filter(r -> r.diagnosticInfo().code().equals(DiagnosticsCodes.PERSIST_SQL_207.getCode()))
+                .map(r -> getSourceLine(currentPackage, r).trim())
+                .collect(Collectors.toList());
+        // The negation and the membership test of a nilable field are evaluated in memory
+        Assert.assertTrue(warnings.contains("where e.productsId > value && !(e.description == \"broken\")"));
+        Assert.assertTrue(warnings.contains("&& excludedDescriptions.indexOf(e.description) == ()"));
+
+        Package newPackage = codeModifierResult.updatedPackage().orElse(currentPackage);
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction = "entities:Manufacture[] describedManufactures = check from var e in " +
+                        "mcClient->/manufactures(targetType = entities:Manufacture, whereClause = " +
+                        "` Manufacture.productsId > ${value} `)\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeModifierWithBulkUpdate() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                String modifiedFunction = "    _ = check mcClient->/products.put({age: 30}, whereClause = " +
+                        "` Product.age > ${value} `);\n";
+                // The rows are updated one by one as the updated value depends on the row
+                String modifiedFunction1 = "check from var e in mcClient->/products(targetType = " +
+                        "entities:Product, whereClause = ` Product.age > ${value} `)\n" +
+                        "        where e.age > value\n" +
+                        "        do {\n" +
+                        "            _ = check mcClient->/products/[e.id].put({age: e.age + 1});\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+                Assert.assertTrue(sourceCode.contains(modifiedFunction1));
+                Assert.assertFalse(sourceCode.contains("put({age: 30});"));
+            }
+        }
+    }
+
     @Test
     public void testCodeModifierForEagerLoadedClient() {
 
@@ -160,34 +302,25 @@ public class CodeModifierTest {
                 String modifiedFunction3 = "entities:Product[] results1 = check from entities:Product e in " +
                         "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id = ${value}  " +
                         "OR Product.id = 6 OR Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND " +
-                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `, orderByClause = " +
-                        "` ${getStringValue(\"name\")} ASC , Product.age DESC `, groupByClause = " +
-                        "` ${getValue(4)}, Product.name, Product.age`, limitClause = ` ${getValue(4)}`)\n" +
+                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `)\n" +
                         "            where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
                         "&& e.id <= 20 && e.name == getStringValue(\"Person2\")\n" +
                         "            order by getStringValue(\"name\") ascending, e.age descending\n" +
                         "            limit getValue(4)\n" +
                         "            group by var id3 = getValue(4), var name = e.name, var age = e.age\n" +
                         "            select {id: id3, name: name , age: age};\n";
+                // The order by clauses refer to a function call, and the where and group by clauses follow the
+                // limit clause, hence the queries are evaluated in memory
                 String modifiedFunction5 = "entities:Product[] output = check from entities:Product e in " +
-                        "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id = ${value}  " +
-                        "OR Product.id = 6 OR Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND " +
-                        "Product.id <= 20 AND Product.name = ${getStringValue(\"Person2\")} `, " +
-                        "orderByClause = ` ${getStringValue(\"name\")} ASC , Product.age DESC `, groupByClause = " +
-                        "` ${getValue(4)}, Product.name, Product.age`, limitClause = ` ${getValue(4)}`)\n" +
+                        "check mcClient->/products(targetType = entities:Product)\n" +
                         "                order by getStringValue(\"name\") ascending, e.age descending\n" +
                         "                limit getValue(4)\n" +
                         "                where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
                         "&& e.id <= 20 && e.name == getStringValue(\"Person2\")\n" +
                         "                group by var id3 = getValue(4), var name = e.name, var age = e.age\n" +
                         "                select {id: id3, name: name , age: age};\n";
-                String modifiedFunction6 = "output = check from entities:Product e in mcClient->/products(" +
-                        "targetType = entities:Product, whereClause = ` Product.id = ${value}  OR Product.id = 6 OR " +
-                        "Product.id = 7 OR Product.id <> 1 AND Product.id >= 1 AND Product.id <= 20 AND " +
-                        "Product.name = " +
-                        "${getStringValue(\"Person2\")} `, orderByClause = ` ${getStringValue(\"name\")} ASC , " +
-                        "Product.age ASC `, groupByClause = ` ${getValue(4)}, Product.name, Product.age`, " +
-                        "limitClause = ` ${getValue(4)}`)\n" +
+                String modifiedFunction6 = "output = check from entities:Product e in check mcClient->/products(" +
+                        "targetType = entities:Product)\n" +
                         "                order by getStringValue(\"name\"), e.age\n" +
                         "                limit getValue(4)\n" +
                         "                where e.id == value || e.id == 6 || e.id == 7 || e.id != 1  && e.id >= 1 " +
@@ -218,11 +351,11 @@ public class CodeModifierTest {
                         "entities:ManufactureWithRelations e in mcClient->/manufactures(targetType = " +
                         "entities:ManufactureWithRelations, whereClause = ` Manufacture.id = ${value}  " +
                         "OR Manufacture.id = \"6\" OR Manufacture.id = \"7\" OR products.id = 1`, orderByClause = " +
-                        "` ${getStringValue(\"name\")} ASC , products.id DESC `, limitClause = ` ${getValue(2)}`)\n" +
-                        "               order by getStringValue(\"name\") ascending, e.products?.id descending\n" +
-                        "               limit getValue(2)\n" +
+                        "` products.name ASC , products.id DESC `, limitClause = ` ${getValue(2)}`)\n" +
                         "               where e.id == value || e.id == \"6\" || e.id == \"7\" || " +
                         "e.products?.id == 1\n" +
+                        "               order by e.products?.name ascending, e.products?.id descending\n" +
+                        "               limit getValue(2)\n" +
                         "               select e;\n";
                 Assert.assertTrue(sourceCode.contains(modifiedFunction));
             }
@@ -240,11 +373,8 @@ public class CodeModifierTest {
             if (document.name().equals("main.bal")) {
                 String sourceCode = document.syntaxTree().toSourceCode();
                 String modifiedFunction = "entities:Employee[] output = check from entities:Employee e in " +
-                        "mcClient->/employees(targetType = entities:Employee, whereClause = ` Employee.lastName = " +
-                        "${getStringValue(value)}  OR Employee.empNo = \"001\"`, orderByClause = ` " +
-                        "Employee.lastName ASC , Employee.empNo DESC `, groupByClause = ` Employee.lastName, " +
-                        "Employee.empNo, Employee.birthDate, Employee.firstName, Employee.gender, " +
-                        "Employee.hireDate`, limitClause = ` ${getValue(2)}`)\n" +
+                        "mcClient->/employees(targetType = entities:Employee, orderByClause = ` " +
+                        "Employee.lastName ASC , Employee.empNo DESC `, limitClause = ` ${getValue(2)}`)\n" +
                         "                order by e.'lastName ascending, e.empNo descending\n" +
                         "                limit getValue(2)\n" +
                         "                where e.'lastName == getStringValue(value) || e.empNo == \"001\"\n" +
@@ -254,11 +384,8 @@ public class CodeModifierTest {
                         "                select {'lastName, empNo, birthDate, 'firstName, gender, hireDate};";
                 String modifiedFunction1 = "entities:WorkspaceWithRelations[] results = check from " +
                         "entities:WorkspaceWithRelations e in mcClient->/workspaces(targetType = " +
-                        "entities:WorkspaceWithRelations, whereClause = ` employee.firstName = " +
-                        "${getStringValue(value)}  OR Workspace.workspaceId = \"001\" AND location.buildingCode" +
-                        " = ${value} `, orderByClause = ` employee.firstName ASC , location.buildingCode DESC `," +
-                        " groupByClause = ` Workspace.workspaceId, location.buildingCode`, limitClause = " +
-                        "` ${getValue(5)}`)\n" +
+                        "entities:WorkspaceWithRelations, orderByClause = ` employee.firstName ASC , " +
+                        "location.buildingCode DESC `, limitClause = ` ${getValue(5)}`)\n" +
                         "                order by e.'employee?.'firstName ascending, e.'location?.buildingCode " +
                         "descending\n" +
                         "                limit getValue(5)\n" +
@@ -286,21 +413,17 @@ public class CodeModifierTest {
                 String sourceCode = document.syntaxTree().toSourceCode();
                 String modifiedFunction = "entities:WorkspaceWithRelations[] results = check " +
                         "from entities:WorkspaceWithRelations e in mcClient->/workspaces(targetType = " +
-                        "entities:WorkspaceWithRelations, whereClause = ` employee.firstName = " +
-                        "${getStringValue(value)}  OR Workspace.workspaceId = \"001\" AND " +
-                        "location.buildingCode = ${value} `, orderByClause = ` employee.empNo ASC , " +
+                        "entities:WorkspaceWithRelations, orderByClause = ` employee.empNo ASC , " +
                         "location.buildingCode DESC `, limitClause = ` ${getValue(5)}`)\n" +
                         "                order by e.employee?.empNo ascending, e.location?.buildingCode descending\n" +
                         "                limit getValue(5)\n" +
                         "                where e.employee?.firstName == getStringValue(value) || " +
                         "e.workspaceId == \"001\" && e.location?.buildingCode == value\n" +
                         "                select e;";
+                // The order by clause refers to a variable, hence the query is evaluated in memory
                 String modifiedFunction1 = "entities:WorkspaceWithRelations1[] result = check from entities:" +
                         "WorkspaceWithRelations1 e in mcClient->/workspaces(targetType = entities:" +
-                        "WorkspaceWithRelations1, whereClause = ` employee.firstName = ${getStringValue(value)}  " +
-                        "OR Workspace.workspaceId = \"001\" AND location.buildingCode = ${value} `, orderByClause = " +
-                        "` employee.empNo ASC , ${name} DESC `, groupByClause = ` employee.firstName, " +
-                        "Workspace.workspaceId, ${name}`, limitClause = ` ${getValue(5)}`)\n" +
+                        "WorkspaceWithRelations1)\n" +
                         "                    order by e.employee?.empNo ascending, name descending\n" +
                         "                    limit getValue(5)\n" +
                         "                    where e.employee?.firstName == getStringValue(value) || " +
@@ -327,6 +450,82 @@ public class CodeModifierTest {
         Assert.assertEquals(errorDiagnosticsList.size(), 12);
     }
 
+    @Test
+    public void testCodeModifierWithPartialWhereClause() {
+
+        Package newPackage = getModifiedPackage("project_1");
+
+        for (DocumentId documentId : newPackage.getDefaultModule().documentIds()) {
+            Document document = newPackage.getDefaultModule().document(documentId);
+
+            if (document.name().equals("main.bal")) {
+                String sourceCode = document.syntaxTree().toSourceCode();
+                // The limit is not pushed down as the rows are filtered in memory as well
+                String modifiedFunction = "entities:Product[] partialProducts = check from var e in " +
+                        "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id > ${value}  " +
+                        "AND Product.age < 30`, orderByClause = ` Product.id DESC `)\n" +
+                        "        where e.id > value && e.name.toUpperAscii() == \"PRODUCT2\" && e.age < 30\n" +
+                        "        order by e.id descending\n" +
+                        "        limit value\n" +
+                        "        select e;\n";
+                // The where clause which follows the limit clause filters the limited rows in memory
+                String modifiedFunction1 = "entities:Product[] limitedProducts = check from var e in " +
+                        "mcClient->/products(targetType = entities:Product, whereClause = ` Product.id > ${value} `, " +
+                        "limitClause = ` ${value}`)\n" +
+                        "        where e.id > value\n" +
+                        "        limit value\n" +
+                        "        where e.age < 30\n" +
+                        "        select e;\n";
+                // The order by clause which follows the limit clause orders the limited rows in memory
+                String modifiedFunction2 = "entities:Product[] orderedLimitedProducts = check from var e in " +
+                        "mcClient->/products(targetType = entities:Product, limitClause = ` ${value}`)\n" +
+                        "        limit value\n" +
+                        "        order by e.age ascending\n" +
+                        "        select e;\n";
+                Assert.assertTrue(sourceCode.contains(modifiedFunction));
+                Assert.assertTrue(sourceCode.contains(modifiedFunction1));
+                Assert.assertTrue(sourceCode.contains(modifiedFunction2));
+            }
+        }
+    }
+
+    @Test
+    public void testCodeModifierWithInMemoryEvaluationWarning() {
+        Package currentPackage = loadPackage("project_1");
+        CodeModifierResult codeModifierResult = currentPackage.runCodeModifierPlugins();
+        List<String> warnings = codeModifierResult.reportedDiagnostics().diagnostics().stream()
+                .filter(r -> r.diagnosticInfo().code().equals(DiagnosticsCodes.PERSIST_SQL_207.getCode()))
+                .map(r -> r.diagnosticInfo().severity() + ": " + r.message() + ": " +
+                        getSourceLine(currentPackage, r).trim())
+                .collect(Collectors.toList());
+        Assert.assertTrue(warnings.contains("WARNING: the 'where' clause of the persist query cannot be translated " +
+                "to SQL, hence it is evaluated in memory over the retrieved rows: " +
+                "where e.name.toUpperAscii() == \"PRODUCT2\""));
+        Assert.assertTrue(warnings.contains("WARNING: the 'order by' clause of the persist query cannot be " +
+                "translated to SQL, hence it is evaluated in memory over the retrieved rows: " +
+                "order by e.name.length() descending"));
+        Assert.assertTrue(warnings.contains("WARNING: the 'limit' clause of the persist query cannot be " +
+                "translated to SQL, hence it is evaluated in memory over the retrieved rows: limit value"));
+        Assert.assertTrue(warnings.contains("WARNING: the 'where' clause of the persist query cannot be " +
+                "translated to SQL, hence it is evaluated in memory over the retrieved rows: where e.age < 30"));
+        Assert.assertTrue(warnings.contains("WARNING: the 'order by' clause of the persist query cannot be " +
+                "translated to SQL, hence it is evaluated in memory over the retrieved rows: order by e.age ascending"));
+        // The values of the variables and function calls are not ordered by in the database
+        Assert.assertTrue(warnings.contains("WARNING: the 'order by' clause of the persist query cannot be " +
+                "translated to SQL, hence it is evaluated in memory over the retrieved rows: " +
+                "order by getStringValue(\"name\") ascending, e.age descending"));
+    }
+
+    private String getSourceLine(Package currentPackage, Diagnostic diagnostic) {
+        for (DocumentId documentId : currentPackage.getDefaultModule().documentIds()) {
+            Document document = currentPackage.getDefaultModule().document(documentId);
+            if (document.name().equals(diagnostic.location().lineRange().fileName())) {
+                return document.textDocument().line(diagnostic.location().lineRange().startLine().line()).text();
+            }
+        }
+        return "";
+    }
+
     private Package getModifiedPackage(String path) {
         Package currentPackage = loadPackage(path);
         DiagnosticResult diagnosticResult = currentPackage.getCompilation().diagnosticResult();
@@ -27,6 +27,7 @@ public isolated client class Client {
             fieldMetadata: {
                 id: {columnName: "id"},
                 productsId: {columnName: "productsId"},
+                description: {columnName: "description"},
                 "products.id": {relation: {entityName: "products", refField: "id"}},
                 "products.name": {relation: {entityName: "products", refField: "name"}},
                 "products.age": {relation: {entityName: "products", refField: "age"}}
@@ -131,6 +132,14 @@ public isolated client class Client {
         return self->/products/[id].get();
     }
 
+    isolated resource function put products(ProductUpdate value, sql:ParameterizedQuery whereClause) returns int|persist:Error {
+        psql:SQLClient sqlClient;
+        lock {
+            sqlClient = self.persistClients.get(PRODUCT);
+        }
+        return sqlClient.runUpdateWhereQuery(value, whereClause);
+    }
+
     isolated resource function delete products/[int id]() returns Product|persist:Error {
         Product result = check self->/products/[id].get();
         psql:SQLClient sqlClient;
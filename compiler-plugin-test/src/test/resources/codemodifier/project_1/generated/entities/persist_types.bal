@@ -6,11 +6,13 @@
 public type Manufacture record {|
     readonly string id;
     int productsId;
+    string? description;
 |};
 
 public type ManufactureOptionalized record {|
     string id?;
     int productsId?;
+    string? description?;
 |};
 
 public type ManufactureWithRelations record {|
@@ -24,6 +26,7 @@ public type ManufactureInsert Manufacture;
 
 public type ManufactureUpdate record {|
     int productsId?;
+    string? description?;
 |};
 
 public type Product record {|
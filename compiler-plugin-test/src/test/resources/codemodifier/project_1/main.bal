@@ -41,6 +41,66 @@ public function main() returns error? {
         limit value
         select e;
 
+    entities:Product[] letProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        let int productId = e.id
+        where productId == value || productId == 6
+        order by productId descending
+        limit value
+        select e;
+
+    string[] productNames = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.id == value
+        select e.name;
+
+    record {|int id; string name;|}[] productInfo = check from var e in mcClient->/products(targetType = entities:Product)
+        select {id: e.id, name: e.name};
+
+    record {|string name; int count;|}[] productCounts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.id > value
+        group by var name = e.name
+        select {name, count: count(e.id)};
+
+    int productCount = check from var e in mcClient->/products(targetType = entities:Product)
+        collect count(e);
+
+    string namePart = "product";
+    int[] productIds = [1, 2];
+    entities:Product[] matchedProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.name.startsWith("p_1") && e.name.includes(namePart) && !(e.age > value) && [1, 2].indexOf(e.id) != () && productIds.indexOf(e.id) == ()
+        select e;
+
+    string?[] excludedDescriptions = ["broken", ()];
+    entities:Manufacture[] describedManufactures = check from var e in mcClient->/manufactures(targetType = entities:Manufacture)
+        where e.productsId > value && !(e.description == "broken")
+            && excludedDescriptions.indexOf(e.description) == ()
+        select e;
+
+    entities:Product[] upperCaseProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.name.toUpperAscii() == "PRODUCT2"
+        select e;
+
+    entities:Product[] sortedProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.id > value
+        order by e.name.length() descending
+        select e;
+
+    entities:Product[] partialProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.id > value && e.name.toUpperAscii() == "PRODUCT2" && e.age < 30
+        order by e.id descending
+        limit value
+        select e;
+
+    entities:Product[] limitedProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        where e.id > value
+        limit value
+        where e.age < 30
+        select e;
+
+    entities:Product[] orderedLimitedProducts = check from var e in mcClient->/products(targetType = entities:Product)
+        limit value
+        order by e.age ascending
+        select e;
+
     entities:Product[]|error result = from var e in mcClient->/products(targetType = entities:Product)
             where e.id == value && e.id >= 2 && e.id <= 25
             select e;
@@ -97,6 +157,18 @@ public function main() returns error? {
                 group by var id3 = getValue(4), var name = e.name, var age = e.age
                 select {id: id3, name: name , age: age};
 
+    check from var e in mcClient->/products(targetType = entities:Product)
+        where e.age > value
+        do {
+            _ = check mcClient->/products/[e.id].put({age: 30});
+        };
+
+    check from var e in mcClient->/products(targetType = entities:Product)
+        where e.age > value
+        do {
+            _ = check mcClient->/products/[e.id].put({age: e.age + 1});
+        };
+
     io:println(products);
     io:println(results1);
     check mcClient.close();
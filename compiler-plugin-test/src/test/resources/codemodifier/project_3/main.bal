@@ -10,9 +10,9 @@ public function main() returns error? {
     string value = "1";
     int val = 2;
     entities:ManufactureWithRelations[] output = check from entities:ManufactureWithRelations e in mcClient->/manufactures(targetType = entities:ManufactureWithRelations)
-               order by getStringValue("name") ascending, e.products?.id descending
-               limit getValue(2)
                where e.id == value || e.id == "6" || e.id == "7" || e.products?.id == 1
+               order by e.products?.name ascending, e.products?.id descending
+               limit getValue(2)
                select e;
 }
 
@@ -23,6 +23,8 @@ import io.ballerina.compiler.syntax.tree.NodeFactory;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.Token;
 
+import java.util.List;
+
 import static io.ballerina.compiler.syntax.tree.AbstractNodeFactory.createEmptyMinutiaeList;
 
 /**
@@ -40,15 +42,39 @@ public final class Constants {
     public static final String CLOSE_BRACES_WITH_SPACE = ") ";
     public static final String BAL_ESCAPE_TOKEN = "'";
     public static final String OPEN_BRACES = "(";
+    public static final String CLOSE_BRACES = ")";
     public static final String CLOSE_BRACES_WITH_NEW_LINE = ")\n";
     public static final String INTERPOLATION_START_TOKEN = "${";
     public static final String INTERPOLATION_END_TOKEN = "}";
     public static final String COMMA_WITH_SPACE = ", ";
     public static final String COLON = ":";
+    public static final String SEMICOLON = ";";
     public static final String GET = "get";
+    public static final String PUT = "put";
+    public static final String WILDCARD = "_";
+    public static final String WHERE_CLAUSE = "whereClause";
     public static final String TARGET_TYPE = "targetType";
+    public static final String CLOSED_RECORD_START = "record {| ";
+    public static final String CLOSED_RECORD_END = "|}";
+    public static final String AGGREGATE_ALIAS_PREFIX = "persistAggregate";
+    public static final String COUNT_FUNCTION = "count";
+    public static final String SUM_FUNCTION = "sum";
+    public static final String AVG_FUNCTION = "avg";
+    public static final List<String> AGGREGATE_FUNCTIONS = List.of(COUNT_FUNCTION, SUM_FUNCTION, AVG_FUNCTION,
+            "max", "min");
+    public static final String STARTS_WITH_METHOD = "startsWith";
+    public static final String ENDS_WITH_METHOD = "endsWith";
+    public static final String INCLUDES_METHOD = "includes";
+    public static final String INDEX_OF_METHOD = "indexOf";
+    public static final String LIKE_WILDCARD = "%";
+    public static final String LIKE_ESCAPE_CHARACTER = "!";
+    // The escape character is escaped first, as the others are escaped with it. The `[` of MSSQL is escaped at runtime,
+    // as the other data sources may reject an escape character which does not precede a wildcard.
+    public static final List<String> LIKE_SPECIAL_CHARACTERS = List.of(LIKE_ESCAPE_CHARACTER, LIKE_WILDCARD, "_");
     public static final String WHERE = "where";
     public static final String ORDER_BY = "order by";
+    public static final String GROUP_BY = "group by";
+    public static final String LIMIT = "limit";
     public static final String PERSIST_DIRECTORY = "persist";
     public static final String CHAR_ANNOTATION = "Char";
     public static final String VARCHAR_ANNOTATION = "Varchar";
@@ -75,6 +101,12 @@ public final class Constants {
         public static final String NOT_EQUAL_TOKEN = "<>";
         public static final String AND = "AND";
         public static final String OR = "OR";
+        public static final String NOT = "NOT";
+        public static final String IN = "IN";
+        public static final String IS_NULL = "IS NULL";
+        public static final String IS_NOT_NULL = "IS NOT NULL";
+        public static final String LIKE = "LIKE";
+        public static final String LIKE_ESCAPE = "ESCAPE '" + LIKE_ESCAPE_CHARACTER + "'";
         public static final String ORDER_BY_ASCENDING = "ASC";
         public static final String ORDER_BY_DESCENDING = "DESC";
     }
@@ -91,9 +123,11 @@ public final class Constants {
         public static final Token INTERPOLATION_END_TOKEN = NodeFactory.createLiteralValueToken(
                 SyntaxKind.CLOSE_BRACE_TOKEN, "}", createEmptyMinutiaeList(), createEmptyMinutiaeList());
         public static final Token WHERE_CLAUSE_NAME = NodeFactory.createLiteralValueToken(
-                SyntaxKind.NAMED_ARG, "whereClause", createEmptyMinutiaeList(), createEmptyMinutiaeList());
+                SyntaxKind.NAMED_ARG, WHERE_CLAUSE, createEmptyMinutiaeList(), createEmptyMinutiaeList());
         public static final Token ORDER_BY_CLAUSE_NAME = NodeFactory.createLiteralValueToken(
                 SyntaxKind.NAMED_ARG, "orderByClause", createEmptyMinutiaeList(), createEmptyMinutiaeList());
+        public static final Token TARGET_TYPE_NAME = NodeFactory.createLiteralValueToken(
+                SyntaxKind.NAMED_ARG, TARGET_TYPE, createEmptyMinutiaeList(), createEmptyMinutiaeList());
         public static final Token LIMIT_CLAUSE_NAME = NodeFactory.createLiteralValueToken(
                 SyntaxKind.NAMED_ARG, "limitClause", createEmptyMinutiaeList(), createEmptyMinutiaeList());
         public static final Token GROUP_BY_CLAUSE_NAME = NodeFactory.createLiteralValueToken(
@@ -120,6 +154,7 @@ public final class Constants {
         public static final String FLOAT = "float";
         public static final String BYTE = "byte";
         public static final String ENUM = "enum";
+        public static final List<String> SIMPLE_TYPES = List.of(INT, STRING, BOOLEAN, DECIMAL, FLOAT, BYTE + "[]");
 
         private BallerinaTypes() {
         }
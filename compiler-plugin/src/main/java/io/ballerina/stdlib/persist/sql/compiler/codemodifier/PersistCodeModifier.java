@@ -40,6 +40,9 @@ public class PersistCodeModifier extends CodeModifier {
     private final List<String> persistClientVariableNames = new ArrayList<>();
     private final Map<String, String> variables = new HashMap<>();
     private final Map<String, String> entities = new HashMap<>();
+    private final Map<String, Map<String, String>> entityFieldDeclarations = new HashMap<>();
+    private final Map<String, List<String>> entityKeyFields = new HashMap<>();
+    private final List<String> bulkUpdateResources = new ArrayList<>();
     private final ConcurrentHashMap<QueryPipelineNode, Query> queries = new ConcurrentHashMap<>();
     private final Map<QueryPipelineNode, Query> validatedQueries = new HashMap<>();
 
@@ -50,9 +53,11 @@ public class PersistCodeModifier extends CodeModifier {
                 variables, queries, validatedQueries, persistClientVariableNames), SyntaxKind.QUERY_PIPELINE);
         // Identify all persist client in the package and all declared entity and variable names with type.
         codeModifierContext.addSyntaxNodeAnalysisTask(new PersistEntityAndClassIdentifierTask(
-                entities, persistClientNames, variables, queries, validatedQueries, persistClientVariableNames),
+                entities, entityFieldDeclarations, entityKeyFields, persistClientNames, bulkUpdateResources,
+                variables, queries, validatedQueries, persistClientVariableNames),
                 Arrays.asList(SyntaxKind.LOCAL_VAR_DECL, SyntaxKind.MODULE_VAR_DECL, SyntaxKind.MODULE_PART));
 
-        codeModifierContext.addSourceModifierTask(new QueryCodeModifierTask(validatedQueries));
+        codeModifierContext.addSourceModifierTask(new QueryCodeModifierTask(validatedQueries, entityFieldDeclarations,
+                entityKeyFields, bulkUpdateResources));
     }
 }
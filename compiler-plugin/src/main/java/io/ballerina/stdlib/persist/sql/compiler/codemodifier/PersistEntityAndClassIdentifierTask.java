@@ -19,12 +19,17 @@
 package io.ballerina.stdlib.persist.sql.compiler.codemodifier;
 
 import io.ballerina.compiler.syntax.tree.ClassDefinitionNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
 import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
 import io.ballerina.compiler.syntax.tree.ModulePartNode;
 import io.ballerina.compiler.syntax.tree.ModuleVariableDeclarationNode;
 import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.ParameterNode;
 import io.ballerina.compiler.syntax.tree.QueryPipelineNode;
+import io.ballerina.compiler.syntax.tree.RecordFieldNode;
 import io.ballerina.compiler.syntax.tree.RecordTypeDescriptorNode;
+import io.ballerina.compiler.syntax.tree.RequiredParameterNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
 import io.ballerina.compiler.syntax.tree.TypeDescriptorNode;
 import io.ballerina.compiler.syntax.tree.VariableDeclarationNode;
@@ -34,6 +39,8 @@ import io.ballerina.stdlib.persist.plural.Pluralizer;
 import io.ballerina.stdlib.persist.sql.compiler.Constants;
 import io.ballerina.stdlib.persist.sql.compiler.model.Query;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -49,17 +56,27 @@ import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeMod
 public class PersistEntityAndClassIdentifierTask implements AnalysisTask<SyntaxNodeAnalysisContext>  {
 
     private final Map<String, String> entities;
+    private final Map<String, Map<String, String>> entityFieldDeclarations;
+    private final Map<String, List<String>> entityKeyFields;
     private final List<String> persistClientNames;
+    private final List<String> bulkUpdateResources;
     private final Map<String, String> variables;
     PersistQueryValidator queryValidator;
 
-    PersistEntityAndClassIdentifierTask(Map<String, String> entities, List<String> persistClientNames,
+    PersistEntityAndClassIdentifierTask(Map<String, String> entities,
+                                        Map<String, Map<String, String>> entityFieldDeclarations,
+                                        Map<String, List<String>> entityKeyFields,
+                                        List<String> persistClientNames,
+                                        List<String> bulkUpdateResources,
                                         Map<String, String> variables,
                                         ConcurrentHashMap<QueryPipelineNode, Query> queries,
                                         Map<QueryPipelineNode, Query> validatedQueries,
                                         List<String> persistClientVariableNames) {
         this.entities = entities;
+        this.entityFieldDeclarations = entityFieldDeclarations;
+        this.entityKeyFields = entityKeyFields;
         this.persistClientNames = persistClientNames;
+        this.bulkUpdateResources = bulkUpdateResources;
         this.variables = variables;
         this.queryValidator = new PersistQueryValidator(entities, persistClientNames, variables, queries,
                 validatedQueries, persistClientVariableNames);
@@ -79,10 +96,13 @@ public class PersistEntityAndClassIdentifierTask implements AnalysisTask<SyntaxN
                         continue;
                     }
                     TypeDescriptorNode typeDescriptorNode = (TypeDescriptorNode) typeDefinitionNode.typeDescriptor();
-                    if (typeDescriptorNode instanceof RecordTypeDescriptorNode) {
+                    if (typeDescriptorNode instanceof RecordTypeDescriptorNode recordTypeDescriptorNode) {
                         String typeName = typeDefinitionNode.typeName().text().trim();
                         entities.put(Pluralizer.pluralize(stripEscapeCharacter(typeName).
                                 toLowerCase(Locale.ROOT)), stripEscapeCharacter(typeName));
+                        entityFieldDeclarations.put(stripEscapeCharacter(typeName),
+                                getFieldDeclarations(recordTypeDescriptorNode));
+                        entityKeyFields.put(stripEscapeCharacter(typeName), getKeyFields(recordTypeDescriptorNode));
                     }
                 } else if (member instanceof ClassDefinitionNode classDefinitionNode) {
                     List<Node> persistTypeInheritanceNodes = classDefinitionNode.members().stream().filter(
@@ -90,6 +110,7 @@ public class PersistEntityAndClassIdentifierTask implements AnalysisTask<SyntaxN
                                     Constants.PERSIST_INHERITANCE_NODE)).collect(Collectors.toList());
                     if (persistTypeInheritanceNodes.size() > 0) {
                         persistClientNames.add(classDefinitionNode.className().text().trim());
+                        addBulkUpdateResources(classDefinitionNode);
                     }
                 }
             }
@@ -104,4 +125,54 @@ public class PersistEntityAndClassIdentifierTask implements AnalysisTask<SyntaxN
         }
         queryValidator.validateQuery(ctx);
     }
+
+    // The resources which update the records matched by a `whereClause`, e.g. `put products(ProductUpdate value,
+    // sql:ParameterizedQuery whereClause)`
+    private void addBulkUpdateResources(ClassDefinitionNode classDefinitionNode) {
+        for (Node classMember : classDefinitionNode.members()) {
+            if (!(classMember instanceof FunctionDefinitionNode functionDefinitionNode) ||
+                    functionDefinitionNode.kind() != SyntaxKind.RESOURCE_ACCESSOR_DEFINITION ||
+                    !functionDefinitionNode.functionName().text().equals(Constants.PUT) ||
+                    functionDefinitionNode.relativeResourcePath().size() != 1) {
+                continue;
+            }
+            for (ParameterNode parameter : functionDefinitionNode.functionSignature().parameters()) {
+                if (parameter instanceof RequiredParameterNode requiredParameterNode &&
+                        requiredParameterNode.paramName().isPresent() &&
+                        requiredParameterNode.paramName().get().text().equals(Constants.WHERE_CLAUSE)) {
+                    bulkUpdateResources.add(functionDefinitionNode.relativeResourcePath().get(0)
+                            .toSourceCode().trim());
+                }
+            }
+        }
+    }
+
+    // The key fields of an entity are the readonly fields of its record type
+    private static List<String> getKeyFields(RecordTypeDescriptorNode recordTypeDescriptorNode) {
+        List<String> keyFields = new ArrayList<>();
+        for (Node field : recordTypeDescriptorNode.fields()) {
+            if (field instanceof RecordFieldNode recordFieldNode && recordFieldNode.readonlyKeyword().isPresent()) {
+                keyFields.add(stripEscapeCharacter(recordFieldNode.fieldName().text().trim()));
+            }
+        }
+        return keyFields;
+    }
+
+    // The declaration of a field is only recorded if its type can be referred without importing the entity module
+    private static Map<String, String> getFieldDeclarations(RecordTypeDescriptorNode recordTypeDescriptorNode) {
+        Map<String, String> fieldDeclarations = new LinkedHashMap<>();
+        for (Node field : recordTypeDescriptorNode.fields()) {
+            if (!(field instanceof RecordFieldNode recordFieldNode)) {
+                continue;
+            }
+            String fieldName = recordFieldNode.fieldName().text().trim();
+            String fieldType = recordFieldNode.typeName().toSourceCode().trim();
+            String baseType = fieldType.endsWith("?") ? fieldType.substring(0, fieldType.length() - 1) : fieldType;
+            boolean isSimpleType = Constants.BallerinaTypes.SIMPLE_TYPES.contains(baseType);
+            fieldDeclarations.put(stripEscapeCharacter(fieldName),
+                    isSimpleType && recordFieldNode.questionMarkToken().isEmpty() ?
+                            fieldType + Constants.SPACE + fieldName : null);
+        }
+        return fieldDeclarations;
+    }
 }
@@ -20,10 +20,12 @@ package io.ballerina.stdlib.persist.sql.compiler.codemodifier;
 
 import io.ballerina.compiler.syntax.tree.BasicLiteralNode;
 import io.ballerina.compiler.syntax.tree.BinaryExpressionNode;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
 import io.ballerina.compiler.syntax.tree.CheckExpressionNode;
 import io.ballerina.compiler.syntax.tree.ChildNodeEntry;
 import io.ballerina.compiler.syntax.tree.ChildNodeList;
 import io.ballerina.compiler.syntax.tree.ClientResourceAccessActionNode;
+import io.ballerina.compiler.syntax.tree.CollectClauseNode;
 import io.ballerina.compiler.syntax.tree.ExpressionNode;
 import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
 import io.ballerina.compiler.syntax.tree.FromClauseNode;
@@ -38,15 +40,19 @@ import io.ballerina.compiler.syntax.tree.NamedArgumentNode;
 import io.ballerina.compiler.syntax.tree.Node;
 import io.ballerina.compiler.syntax.tree.NodeList;
 import io.ballerina.compiler.syntax.tree.NodeLocation;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
+import io.ballerina.compiler.syntax.tree.OptionalFieldAccessExpressionNode;
 import io.ballerina.compiler.syntax.tree.OrderByClauseNode;
 import io.ballerina.compiler.syntax.tree.OrderKeyNode;
 import io.ballerina.compiler.syntax.tree.ParenthesizedArgList;
 import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
 import io.ballerina.compiler.syntax.tree.QueryPipelineNode;
 import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
 import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.TemplateExpressionNode;
+import io.ballerina.compiler.syntax.tree.TypedBindingPatternNode;
 import io.ballerina.compiler.syntax.tree.WhereClauseNode;
 import io.ballerina.projects.plugins.AnalysisTask;
 import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
@@ -60,9 +66,11 @@ import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -127,8 +135,13 @@ public class PersistQueryValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         boolean isOrderByClauseUsed = orderByClauseNodes.size() != 0;
         boolean isLimitClauseUsed = limitClauseNode.size() != 0;
         boolean groupByClauseUsed = groupByClauseNode.size() != 0;
+        Set<String> referencedFields = getReferencedFields(queryPipelineNode);
+        // The aggregates of a `collect` clause can be computed by the database without any other clause
+        boolean isCollectClauseUsed = queryPipelineNode.parent() instanceof QueryExpressionNode queryExpressionNode &&
+                queryExpressionNode.resultClause() instanceof CollectClauseNode;
 
-        if (!isWhereClauseUsed && !isOrderByClauseUsed && !isLimitClauseUsed && !groupByClauseUsed) {
+        if (!isWhereClauseUsed && !isOrderByClauseUsed && !isLimitClauseUsed && !groupByClauseUsed &&
+                referencedFields == null && !isCollectClauseUsed) {
             return;
         }
 
@@ -203,6 +216,7 @@ public class PersistQueryValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         query.addGroupByClauses(groupByClauseNode);
         query.addOrderByClause(orderByClauseNodes);
         query.addLetClauseNodes(letClauseNodes);
+        query.addReferencedFields(referencedFields);
         this.queries.put(queryPipelineNode, query);
         validateQuery(ctx);
     }
@@ -322,6 +336,62 @@ public class PersistQueryValidator implements AnalysisTask<SyntaxNodeAnalysisCon
         }
     }
 
+    // Returns the entity fields referred by the query if the `var` binding of the from clause is only used to
+    // access its fields, so that the fields which are not referred need not be retrieved
+    private Set<String> getReferencedFields(QueryPipelineNode queryPipelineNode) {
+        TypedBindingPatternNode typedBindingPattern = queryPipelineNode.fromClause().typedBindingPattern();
+        if (typedBindingPattern.typeDescriptor().kind() != SyntaxKind.VAR_TYPE_DESC ||
+                !(typedBindingPattern.bindingPattern() instanceof CaptureBindingPatternNode bindingPattern) ||
+                !(queryPipelineNode.parent() instanceof QueryExpressionNode queryExpressionNode)) {
+            return null;
+        }
+        String bindingVariableName = stripEscapeCharacter(bindingPattern.variableName().text());
+        Set<String> referencedFields = new LinkedHashSet<>();
+        for (IntermediateClauseNode intermediateClauseNode : queryPipelineNode.intermediateClauses()) {
+            if (!addReferencedFields(intermediateClauseNode, bindingVariableName, referencedFields)) {
+                return null;
+            }
+        }
+        if (!addReferencedFields(queryExpressionNode.resultClause(), bindingVariableName, referencedFields)) {
+            return null;
+        }
+        if (queryExpressionNode.onConflictClause().isPresent() && !addReferencedFields(
+                queryExpressionNode.onConflictClause().get(), bindingVariableName, referencedFields)) {
+            return null;
+        }
+        return referencedFields.isEmpty() ? null : referencedFields;
+    }
+
+    private boolean addReferencedFields(Node node, String bindingVariableName, Set<String> referencedFields) {
+        if (node instanceof FieldAccessExpressionNode fieldAccessNode &&
+                isBindingVariable(fieldAccessNode.expression(), bindingVariableName)) {
+            referencedFields.add(stripEscapeCharacter(fieldAccessNode.fieldName().toSourceCode().trim()));
+            return true;
+        }
+        if (node instanceof OptionalFieldAccessExpressionNode fieldAccessNode &&
+                isBindingVariable(fieldAccessNode.expression(), bindingVariableName)) {
+            referencedFields.add(stripEscapeCharacter(fieldAccessNode.fieldName().toSourceCode().trim()));
+            return true;
+        }
+        if (isBindingVariable(node, bindingVariableName)) {
+            // The value of the binding is used as a whole
+            return false;
+        }
+        if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                if (!addReferencedFields(child, bindingVariableName, referencedFields)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isBindingVariable(Node node, String bindingVariableName) {
+        return node instanceof SimpleNameReferenceNode nameReferenceNode &&
+                bindingVariableName.equals(stripEscapeCharacter(nameReferenceNode.name().text()));
+    }
+
     private boolean hasArrayFieldExpression(ExpressionNode expression, SyntaxNodeAnalysisContext ctx) {
         if (expression instanceof BinaryExpressionNode) {
             ChildNodeList expressionChildren = expression.children();
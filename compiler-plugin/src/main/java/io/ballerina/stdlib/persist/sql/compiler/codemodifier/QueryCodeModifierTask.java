@@ -20,35 +20,51 @@ package io.ballerina.stdlib.persist.sql.compiler.codemodifier;
 
 import io.ballerina.compiler.syntax.tree.AbstractNodeFactory;
 import io.ballerina.compiler.syntax.tree.BasicLiteralNode;
+import io.ballerina.compiler.syntax.tree.BinaryExpressionNode;
 import io.ballerina.compiler.syntax.tree.BindingPatternNode;
+import io.ballerina.compiler.syntax.tree.BlockStatementNode;
+import io.ballerina.compiler.syntax.tree.BracedExpressionNode;
 import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
 import io.ballerina.compiler.syntax.tree.CheckExpressionNode;
+import io.ballerina.compiler.syntax.tree.ClauseNode;
 import io.ballerina.compiler.syntax.tree.ClientResourceAccessActionNode;
 import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionStatementNode;
 import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.FieldBindingPatternVarnameNode;
 import io.ballerina.compiler.syntax.tree.FromClauseNode;
 import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.FunctionBodyBlockNode;
 import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
 import io.ballerina.compiler.syntax.tree.GroupByClauseNode;
 import io.ballerina.compiler.syntax.tree.GroupingKeyVarDeclarationNode;
 import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
 import io.ballerina.compiler.syntax.tree.LimitClauseNode;
 import io.ballerina.compiler.syntax.tree.LiteralValueToken;
+import io.ballerina.compiler.syntax.tree.MappingBindingPatternNode;
 import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.NamedArgumentNode;
 import io.ballerina.compiler.syntax.tree.NameReferenceNode;
 import io.ballerina.compiler.syntax.tree.Node;
 import io.ballerina.compiler.syntax.tree.NodeFactory;
 import io.ballerina.compiler.syntax.tree.NodeList;
+import io.ballerina.compiler.syntax.tree.NodeParser;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
 import io.ballerina.compiler.syntax.tree.OptionalFieldAccessExpressionNode;
 import io.ballerina.compiler.syntax.tree.OrderByClauseNode;
 import io.ballerina.compiler.syntax.tree.OrderKeyNode;
 import io.ballerina.compiler.syntax.tree.ParenthesizedArgList;
 import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.QualifiedNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.QueryActionNode;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
 import io.ballerina.compiler.syntax.tree.QueryPipelineNode;
 import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
 import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.StatementNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.TemplateExpressionNode;
 import io.ballerina.compiler.syntax.tree.Token;
 import io.ballerina.compiler.syntax.tree.TreeModifier;
 import io.ballerina.compiler.syntax.tree.WhereClauseNode;
@@ -61,18 +77,28 @@ import io.ballerina.projects.plugins.ModifierTask;
 import io.ballerina.projects.plugins.SourceModifierContext;
 import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
 import io.ballerina.stdlib.persist.sql.compiler.Constants;
+import io.ballerina.stdlib.persist.sql.compiler.DiagnosticsCodes;
 import io.ballerina.stdlib.persist.sql.compiler.exception.NotSupportedExpressionException;
+import io.ballerina.stdlib.persist.sql.compiler.expression.AggregateBuilder;
 import io.ballerina.stdlib.persist.sql.compiler.expression.ExpressionBuilder;
 import io.ballerina.stdlib.persist.sql.compiler.expression.ExpressionVisitor;
+import io.ballerina.stdlib.persist.sql.compiler.expression.UpdateBuilder;
 import io.ballerina.stdlib.persist.sql.compiler.model.Query;
 import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.diagnostics.DiagnosticFactory;
+import io.ballerina.tools.diagnostics.DiagnosticInfo;
 import io.ballerina.tools.diagnostics.DiagnosticSeverity;
 import org.ballerinalang.formatter.core.Formatter;
 import org.ballerinalang.formatter.core.FormatterException;
 
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Code modifier for query expression.
@@ -80,9 +106,17 @@ import java.util.Map;
 public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext> {
 
     private final Map<QueryPipelineNode, Query> validatedQueries;
+    private final Map<String, Map<String, String>> entityFieldDeclarations;
+    private final Map<String, List<String>> entityKeyFields;
+    private final List<String> bulkUpdateResources;
 
-    public QueryCodeModifierTask(Map<QueryPipelineNode, Query> validatedQueries) {
+    public QueryCodeModifierTask(Map<QueryPipelineNode, Query> validatedQueries,
+                                 Map<String, Map<String, String>> entityFieldDeclarations,
+                                 Map<String, List<String>> entityKeyFields, List<String> bulkUpdateResources) {
         this.validatedQueries = validatedQueries;
+        this.entityFieldDeclarations = entityFieldDeclarations;
+        this.entityKeyFields = entityKeyFields;
+        this.bulkUpdateResources = bulkUpdateResources;
     }
 
     @Override
@@ -91,13 +125,13 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
         for (ModuleId moduleId : pkg.moduleIds()) {
             Module module = pkg.module(moduleId);
             for (DocumentId documentId : module.documentIds()) {
-                SyntaxTree syntaxTree = getUpdatedSyntaxTree(module, documentId, this.validatedQueries);
+                SyntaxTree syntaxTree = getUpdatedSyntaxTree(module, documentId, sourceModifierContext);
                 if (syntaxTree != null) {
                     sourceModifierContext.modifySourceFile(syntaxTree.textDocument(), documentId);
                 }
             }
             for (DocumentId documentId : module.testDocumentIds()) {
-                SyntaxTree syntaxTree = getUpdatedSyntaxTree(module, documentId, this.validatedQueries);
+                SyntaxTree syntaxTree = getUpdatedSyntaxTree(module, documentId, sourceModifierContext);
                 if (syntaxTree != null) {
                     sourceModifierContext.modifyTestSourceFile(syntaxTree.textDocument(), documentId);
                 }
@@ -106,11 +140,13 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
     }
 
     private SyntaxTree getUpdatedSyntaxTree(Module module, DocumentId documentId,
-                                            Map<QueryPipelineNode, Query> validatedQueries) {
+                                            SourceModifierContext sourceModifierContext) {
         Document document = module.document(documentId);
         ModulePartNode rootNode = document.syntaxTree().rootNode();
-        QueryConstructModifier queryConstructModifier = new QueryConstructModifier(validatedQueries);
+        QueryConstructModifier queryConstructModifier = new QueryConstructModifier(this.validatedQueries,
+                this.entityFieldDeclarations, this.entityKeyFields, this.bulkUpdateResources);
         ModulePartNode newRoot = (ModulePartNode) rootNode.apply(queryConstructModifier);
+        queryConstructModifier.getDiagnostics().forEach(sourceModifierContext::reportDiagnostic);
         if (queryConstructModifier.isSourceCodeModified()) {
             SyntaxTree syntaxTree = document.syntaxTree().modifyWith(newRoot);
             try {
@@ -126,9 +162,75 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
     private static class QueryConstructModifier extends TreeModifier {
         private boolean isSourceCodeModified = false;
         private final Map<QueryPipelineNode, Query> validatedQueries;
-
-        public QueryConstructModifier(Map<QueryPipelineNode, Query> validatedQueries) {
+        private final Map<String, Map<String, String>> entityFieldDeclarations;
+        private final Map<String, List<String>> entityKeyFields;
+        private final List<String> bulkUpdateResources;
+        private final Map<QueryPipelineNode, Map<String, String>> aggregateCalls = new HashMap<>();
+        private final Map<QueryPipelineNode, String> bulkUpdates = new HashMap<>();
+        private final List<Diagnostic> diagnostics = new ArrayList<>();
+
+        public QueryConstructModifier(Map<QueryPipelineNode, Query> validatedQueries,
+                                      Map<String, Map<String, String>> entityFieldDeclarations,
+                                      Map<String, List<String>> entityKeyFields, List<String> bulkUpdateResources) {
             this.validatedQueries = validatedQueries;
+            this.entityFieldDeclarations = entityFieldDeclarations;
+            this.entityKeyFields = entityKeyFields;
+            this.bulkUpdateResources = bulkUpdateResources;
+        }
+
+        @Override
+        public FunctionBodyBlockNode transform(FunctionBodyBlockNode functionBodyBlockNode) {
+            FunctionBodyBlockNode modifiedFunctionBody = super.transform(functionBodyBlockNode);
+            return modifiedFunctionBody.modify().withStatements(replaceBulkUpdates(
+                    functionBodyBlockNode.statements(), modifiedFunctionBody.statements())).apply();
+        }
+
+        @Override
+        public BlockStatementNode transform(BlockStatementNode blockStatementNode) {
+            BlockStatementNode modifiedBlockStatement = super.transform(blockStatementNode);
+            return modifiedBlockStatement.modify().withStatements(replaceBulkUpdates(
+                    blockStatementNode.statements(), modifiedBlockStatement.statements())).apply();
+        }
+
+        // Replaces the query actions which update the filtered rows one by one with a single update of the rows.
+        // The statements are matched by position, as the modified statements are created anew
+        private NodeList<StatementNode> replaceBulkUpdates(NodeList<StatementNode> statements,
+                                                           NodeList<StatementNode> modifiedStatements) {
+            List<StatementNode> replacedStatements = new ArrayList<>();
+            boolean isReplaced = false;
+            for (int i = 0; i < statements.size(); i++) {
+                String updateStatement = null;
+                if (statements.get(i) instanceof ExpressionStatementNode expressionStatementNode &&
+                        expressionStatementNode.expression() instanceof CheckExpressionNode checkExpressionNode &&
+                        checkExpressionNode.expression() instanceof QueryActionNode queryActionNode) {
+                    updateStatement = bulkUpdates.remove(queryActionNode.queryPipeline());
+                }
+                if (updateStatement == null) {
+                    replacedStatements.add(modifiedStatements.get(i));
+                    continue;
+                }
+                // The replaced statement retains the indentation and the comments of the query action
+                StringBuilder statementSource = new StringBuilder();
+                statements.get(i).leadingMinutiae().forEach(minutiae -> statementSource.append(minutiae.text()));
+                statementSource.append(updateStatement);
+                statements.get(i).trailingMinutiae().forEach(minutiae -> statementSource.append(minutiae.text()));
+                replacedStatements.add(NodeParser.parseStatement(statementSource.toString()));
+                isReplaced = true;
+            }
+            return isReplaced ? NodeFactory.createNodeList(replacedStatements) : modifiedStatements;
+        }
+
+        @Override
+        public QueryExpressionNode transform(QueryExpressionNode queryExpressionNode) {
+            QueryExpressionNode modifiedQueryExpression = super.transform(queryExpressionNode);
+            Map<String, String> replacedCalls = aggregateCalls.remove(queryExpressionNode.queryPipeline());
+            if (replacedCalls == null) {
+                return modifiedQueryExpression;
+            }
+            // The aggregate function calls of the result clause aggregate the values computed by the database
+            ClauseNode resultClause = (ClauseNode) modifiedQueryExpression.resultClause().apply(
+                    new AggregateCallModifier(replacedCalls));
+            return modifiedQueryExpression.modify().withResultClause(resultClause).apply();
         }
 
         @Override
@@ -138,13 +240,9 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             }
             Query query = validatedQueries.get(queryPipelineNode);
 
-            if (query.getLetClauseNodes().size() > 0) {
-                return queryPipelineNode;
-            }
             FromClauseNode fromClauseNode = queryPipelineNode.fromClause();
             NodeList<IntermediateClauseNode> intermediateClauseNodes = queryPipelineNode.intermediateClauses();
-
-            List<IntermediateClauseNode> whereClauseNode = query.getWhereClause();
+            BindingPatternNode bindingPatternNode = fromClauseNode.typedBindingPattern().bindingPattern();
 
             List<IntermediateClauseNode> orderByClauseNode = query.getOrderByClause();
 
@@ -152,15 +250,10 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
 
             List<IntermediateClauseNode> groupByClauseNode = query.getGroupByClauses();
 
-            boolean isWhereClauseUsed = whereClauseNode.size() != 0;
             boolean isOrderByClauseUsed = orderByClauseNode.size() != 0;
             boolean isLimitClauseUsed = limitClauseNode.size() != 0;
             boolean isGroupByClauseUsed = groupByClauseNode.size() != 0;
 
-            if (!isWhereClauseUsed && !isOrderByClauseUsed && !isLimitClauseUsed && !isGroupByClauseUsed) {
-                return queryPipelineNode;
-            }
-
             ExpressionNode expression = fromClauseNode.expression();
             if (expression instanceof CheckExpressionNode checkExpr) {
                 expression = checkExpr.expression();
@@ -168,40 +261,148 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             if (!(expression instanceof ClientResourceAccessActionNode clientResourceAccessActionNode)) {
                 return queryPipelineNode;
             }
-            SeparatedNodeList<FunctionArgumentNode> queryArguments = query.getArguments();
-            List<Node> arguments = new ArrayList<>();
-            arguments.add(queryArguments.get(0));
-            if (isWhereClauseUsed) {
-                List<Node> whereClauseParameterizedQuery = new ArrayList<>();
-                whereClauseParameterizedQuery.add(getStringLiteralToken(Constants.SPACE));
 
+            // The clauses which follow the first limit clause are evaluated over the limited rows, hence only the
+            // where, order by and group by clauses which precede it are translated
+            int limitStartOffset = isLimitClauseUsed ? limitClauseNode.get(0).textRange().startOffset() :
+                    Integer.MAX_VALUE;
+            List<IntermediateClauseNode> whereClauseNode = new ArrayList<>();
+            for (IntermediateClauseNode whereClause : query.getWhereClause()) {
+                if (whereClause.textRange().startOffset() < limitStartOffset) {
+                    whereClauseNode.add(whereClause);
+                } else {
+                    addDiagnostic(getInMemoryClauseException(Constants.WHERE, whereClause));
+                }
+            }
+            boolean isWhereClauseUsed = whereClauseNode.size() != 0;
+            if (isGroupByClauseUsed && groupByClauseNode.get(0).textRange().startOffset() > limitStartOffset) {
+                addDiagnostic(getInMemoryClauseException(Constants.GROUP_BY, groupByClauseNode.get(0)));
+                isGroupByClauseUsed = false;
+            }
+            if (isOrderByClauseUsed && orderByClauseNode.get(0).textRange().startOffset() > limitStartOffset) {
+                addDiagnostic(getInMemoryClauseException(Constants.ORDER_BY, orderByClauseNode.get(0)));
+                isOrderByClauseUsed = false;
+            }
+
+            // The clauses are retained in the query, hence a clause which cannot be translated, e.g. one that
+            // refers to a let variable bound to an unsupported expression, is only evaluated in memory
+            List<Node> whereClause = null;
+            boolean isFilteredInMemory = false;
+            if (isWhereClauseUsed) {
+                PushedDownWhereClause pushedDownWhereClause = processWhereClauses(whereClauseNode,
+                        bindingPatternNode, query);
+                whereClause = pushedDownWhereClause.expression();
+                isWhereClauseUsed = whereClause != null;
+                isFilteredInMemory = !pushedDownWhereClause.isComplete();
+            }
+            if (isWhereClauseUsed && !isFilteredInMemory) {
+                UpdateBuilder updateBuilder = new UpdateBuilder(queryPipelineNode,
+                        entityKeyFields.get(query.getTableName()), bulkUpdateResources);
+                if (updateBuilder.build()) {
+                    this.isSourceCodeModified = true;
+                    bulkUpdates.put(queryPipelineNode, updateBuilder.getUpdateStatement(
+                            createClauseTemplate(whereClause).toSourceCode()));
+                    return queryPipelineNode;
+                }
+            }
+            if (isFilteredInMemory) {
+                // The database would limit and group the rows before the rest of the rows are filtered out in
+                // memory, whereas the order of the rows is retained by the filtering
+                if (isLimitClauseUsed) {
+                    addDiagnostic(getInMemoryClauseException(Constants.LIMIT, limitClauseNode.get(0)));
+                }
+                if (isGroupByClauseUsed) {
+                    addDiagnostic(getInMemoryClauseException(Constants.GROUP_BY, groupByClauseNode.get(0)));
+                }
+                isLimitClauseUsed = false;
+                isGroupByClauseUsed = false;
+            }
+            Node orderByClause = null;
+            if (isOrderByClauseUsed) {
                 try {
-                    List<Node> whereClause = processWhereClause(((WhereClauseNode) whereClauseNode.get(0)),
-                            fromClauseNode.typedBindingPattern().bindingPattern(), query);
-                    whereClauseParameterizedQuery.addAll(whereClause);
+                    orderByClause = processOrderByClause(((OrderByClauseNode) orderByClauseNode.get(0)),
+                            bindingPatternNode, query);
                 } catch (NotSupportedExpressionException e) {
-                    return queryPipelineNode;
+                    addDiagnostic(e);
+                    // The rows limited by the database would not be the first rows of the in-memory order
+                    if (isLimitClauseUsed) {
+                        addDiagnostic(getInMemoryClauseException(Constants.LIMIT, limitClauseNode.get(0)));
+                    }
+                    isOrderByClauseUsed = false;
+                    isLimitClauseUsed = false;
+                }
+            }
+            Node groupByClause = null;
+            if (isGroupByClauseUsed) {
+                try {
+                    groupByClause = processGroupByClause(((GroupByClauseNode) groupByClauseNode.get(0)),
+                            bindingPatternNode, query);
+                } catch (NotSupportedExpressionException e) {
+                    addDiagnostic(e);
+                    // The limit applies to the groups, which are only created in memory
+                    if (isLimitClauseUsed) {
+                        addDiagnostic(getInMemoryClauseException(Constants.LIMIT, limitClauseNode.get(0)));
+                    }
+                    isGroupByClauseUsed = false;
+                    isLimitClauseUsed = false;
+                }
+            }
+            Node limitClause = null;
+            if (isLimitClauseUsed) {
+                try {
+                    limitClause = processLimitClause(((LimitClauseNode) limitClauseNode.get(0)),
+                            bindingPatternNode, query);
+                } catch (NotSupportedExpressionException e) {
+                    addDiagnostic(e);
+                    isLimitClauseUsed = false;
                 }
+            }
 
-                PositionalArgumentNode parameterizedQueryForWhere = NodeFactory.createPositionalArgumentNode(
-                        NodeFactory.createTemplateExpressionNode(
-                                SyntaxKind.RAW_TEMPLATE_EXPRESSION, null,
-                                Constants.TokenNodes.BACKTICK_TOKEN,
-                                AbstractNodeFactory.createSeparatedNodeList(whereClauseParameterizedQuery),
-                                Constants.TokenNodes.BACKTICK_TOKEN
-                        )
-                );
+            SeparatedNodeList<FunctionArgumentNode> queryArguments = query.getArguments();
+            String projectedTargetType = getProjectedTargetType(query, queryArguments.get(0));
+
+            // The aggregates are computed by the database when the rows of the query are only filtered and grouped
+            // by the pushed down clauses, so that a single row is retrieved per group
+            AggregateBuilder aggregateBuilder = new AggregateBuilder(queryPipelineNode,
+                    entityFieldDeclarations.get(query.getTableName()));
+            boolean isAggregated = !isFilteredInMemory &&
+                    (groupByClauseNode.isEmpty() || isGroupByClauseUsed) &&
+                    isEntityTargetType(query, queryArguments.get(0)) && aggregateBuilder.build();
+            if (isAggregated) {
+                projectedTargetType = aggregateBuilder.getTargetType();
+                aggregateCalls.put(queryPipelineNode, aggregateBuilder.getAggregateCalls());
+                // The rows are filtered by the database and the filtered fields are not retrieved
+                List<IntermediateClauseNode> retainedClauses = new ArrayList<>();
+                for (IntermediateClauseNode intermediateClauseNode : intermediateClauseNodes) {
+                    if (!(intermediateClauseNode instanceof WhereClauseNode)) {
+                        retainedClauses.add(intermediateClauseNode);
+                    }
+                }
+                intermediateClauseNodes = NodeFactory.createNodeList(retainedClauses);
+            }
+
+            if (!isWhereClauseUsed && !isOrderByClauseUsed && !isLimitClauseUsed && !isGroupByClauseUsed &&
+                    projectedTargetType == null) {
+                return queryPipelineNode;
+            }
+
+            List<Node> arguments = new ArrayList<>();
+            if (projectedTargetType != null) {
+                arguments.add(NodeFactory.createNamedArgumentNode(NodeFactory.createSimpleNameReferenceNode(
+                        Constants.TokenNodes.TARGET_TYPE_NAME), Constants.TokenNodes.EQUAL_TOKEN,
+                        NodeFactory.createSimpleNameReferenceNode(getStringLiteralToken(projectedTargetType))));
+            } else {
+                arguments.add(queryArguments.get(0));
+            }
+            if (isWhereClauseUsed) {
                 arguments.add(NodeFactory.createNamedArgumentNode(NodeFactory.createSimpleNameReferenceNode(
                         Constants.TokenNodes.WHERE_CLAUSE_NAME), Constants.TokenNodes.EQUAL_TOKEN,
-                        parameterizedQueryForWhere.expression()));
+                        createClauseTemplate(whereClause)));
             }
 
             if (isOrderByClauseUsed) {
                 List<Node> orderByClauseParameterizedQuery = new ArrayList<>();
                 orderByClauseParameterizedQuery.add(getStringLiteralToken(Constants.SPACE));
-
-                Node orderByClause = processOrderByClause(((OrderByClauseNode) orderByClauseNode.get(0)),
-                        fromClauseNode.typedBindingPattern().bindingPattern(), query);
                 orderByClauseParameterizedQuery.add(orderByClause);
 
                 PositionalArgumentNode parameterizedQueryForOrder = NodeFactory.createPositionalArgumentNode(
@@ -221,9 +422,6 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             if (isGroupByClauseUsed) {
                 List<Node> groupByClauseParameterizedQuery = new ArrayList<>();
                 groupByClauseParameterizedQuery.add(getStringLiteralToken(Constants.SPACE));
-
-                Node groupByClause = processGroupByClause(((GroupByClauseNode) groupByClauseNode.get(0)),
-                        fromClauseNode.typedBindingPattern().bindingPattern(), query);
                 groupByClauseParameterizedQuery.add(groupByClause);
 
                 PositionalArgumentNode parameterizedQueryForGroupBy = NodeFactory.createPositionalArgumentNode(
@@ -242,7 +440,6 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             if (isLimitClauseUsed) {
                 List<Node> limitClauseParameterizedQuery = new ArrayList<>();
                 limitClauseParameterizedQuery.add(getStringLiteralToken(Constants.SPACE));
-                Node limitClause = processLimitClause(((LimitClauseNode) limitClauseNode.get(0)));
                 limitClauseParameterizedQuery.add(limitClause);
 
                 PositionalArgumentNode parameterizedQueryForOrder = NodeFactory.createPositionalArgumentNode(
@@ -259,7 +456,9 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             }
             int argumentSize = arguments.size();
             SeparatedNodeList<FunctionArgumentNode> separatedNodeList;
-            if (argumentSize == 2) {
+            if (argumentSize == 1) {
+                separatedNodeList = NodeFactory.createSeparatedNodeList(arguments.get(0));
+            } else if (argumentSize == 2) {
                 separatedNodeList = NodeFactory.createSeparatedNodeList(arguments.get(0),
                         Constants.TokenNodes.COMMA_TOKEN, arguments.get(1));
             } else if (argumentSize == 3) {
@@ -304,40 +503,179 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
             );
         }
 
+        private static TemplateExpressionNode createClauseTemplate(List<Node> clause) {
+            List<Node> clauseParameterizedQuery = new ArrayList<>();
+            clauseParameterizedQuery.add(getStringLiteralToken(Constants.SPACE));
+            clauseParameterizedQuery.addAll(clause);
+            return NodeFactory.createTemplateExpressionNode(SyntaxKind.RAW_TEMPLATE_EXPRESSION, null,
+                    Constants.TokenNodes.BACKTICK_TOKEN,
+                    AbstractNodeFactory.createSeparatedNodeList(clauseParameterizedQuery),
+                    Constants.TokenNodes.BACKTICK_TOKEN);
+        }
+
+        // Narrows the entity type used as the target type to the fields referred by the query, so that only the
+        // columns of those fields are retrieved
+        private String getProjectedTargetType(Query query, FunctionArgumentNode targetTypeArgument) {
+            Set<String> referencedFields = query.getReferencedFields();
+            Map<String, String> fieldDeclarations = entityFieldDeclarations.get(query.getTableName());
+            if (referencedFields == null || fieldDeclarations == null ||
+                    referencedFields.size() >= fieldDeclarations.size() ||
+                    !isEntityTargetType(query, targetTypeArgument)) {
+                return null;
+            }
+            StringBuilder projectedTargetType = new StringBuilder(Constants.CLOSED_RECORD_START);
+            for (Map.Entry<String, String> fieldDeclaration : fieldDeclarations.entrySet()) {
+                if (!referencedFields.contains(fieldDeclaration.getKey())) {
+                    continue;
+                }
+                if (fieldDeclaration.getValue() == null) {
+                    return null;
+                }
+                projectedTargetType.append(fieldDeclaration.getValue()).append(Constants.SEMICOLON)
+                        .append(Constants.SPACE);
+            }
+            for (String referencedField : referencedFields) {
+                if (!fieldDeclarations.containsKey(referencedField)) {
+                    // e.g. a relation field, which is not declared in the entity
+                    return null;
+                }
+            }
+            return projectedTargetType.append(Constants.CLOSED_RECORD_END).toString();
+        }
+
+        // The types of the fields are only known for the entity type itself
+        private boolean isEntityTargetType(Query query, FunctionArgumentNode targetTypeArgument) {
+            ExpressionNode targetType;
+            if (targetTypeArgument instanceof NamedArgumentNode namedArgumentNode) {
+                targetType = namedArgumentNode.expression();
+            } else if (targetTypeArgument instanceof PositionalArgumentNode positionalArgumentNode) {
+                targetType = positionalArgumentNode.expression();
+            } else {
+                return false;
+            }
+            String targetTypeName;
+            if (targetType instanceof QualifiedNameReferenceNode qualifiedNameReferenceNode) {
+                targetTypeName = qualifiedNameReferenceNode.identifier().text();
+            } else if (targetType instanceof SimpleNameReferenceNode simpleNameReferenceNode) {
+                targetTypeName = simpleNameReferenceNode.name().text();
+            } else {
+                return false;
+            }
+            return query.getTableName().equals(stripEscapeCharacter(targetTypeName.trim()));
+        }
+
         public boolean isSourceCodeModified() {
             return this.isSourceCodeModified;
         }
 
-        private List<Node> processWhereClause(WhereClauseNode whereClauseNode, BindingPatternNode bindingPatternNode,
-                                              Query query) throws NotSupportedExpressionException {
-            ExpressionBuilder expressionBuilder = new ExpressionBuilder(whereClauseNode.expression(),
-                    bindingPatternNode);
+        public List<Diagnostic> getDiagnostics() {
+            return this.diagnostics;
+        }
+
+        private void addDiagnostic(NotSupportedExpressionException e) {
+            if (e.getDiagnostic() != null) {
+                this.diagnostics.add(e.getDiagnostic());
+            }
+        }
+
+        // Translates the where clauses as a whole when possible. Otherwise, the conjuncts of the clauses are
+        // translated one by one, so that the rows are filtered by the translatable conjuncts in the database
+        private PushedDownWhereClause processWhereClauses(List<IntermediateClauseNode> whereClauseNodes,
+                                                          BindingPatternNode bindingPatternNode, Query query) {
+            if (whereClauseNodes.size() == 1) {
+                WhereClauseNode whereClauseNode = (WhereClauseNode) whereClauseNodes.get(0);
+                try {
+                    return new PushedDownWhereClause(processWhereClause(whereClauseNode,
+                            whereClauseNode.expression(), bindingPatternNode, query), true);
+                } catch (NotSupportedExpressionException e) {
+                    // The conjuncts which cannot be translated are reported below
+                }
+            }
+            List<Node> whereClause = new ArrayList<>();
+            boolean isComplete = true;
+            for (IntermediateClauseNode whereClauseNode : whereClauseNodes) {
+                List<ExpressionNode> conjuncts = new ArrayList<>();
+                addConjuncts(((WhereClauseNode) whereClauseNode).expression(), conjuncts);
+                for (ExpressionNode conjunct : conjuncts) {
+                    try {
+                        List<Node> translatedConjunct = processWhereClause((WhereClauseNode) whereClauseNode,
+                                conjunct, bindingPatternNode, query);
+                        if (!whereClause.isEmpty()) {
+                            whereClause.add(getStringLiteralToken(Constants.SPACE + Constants.SQLKeyWords.AND +
+                                    Constants.SPACE));
+                        }
+                        whereClause.addAll(translatedConjunct);
+                    } catch (NotSupportedExpressionException e) {
+                        addDiagnostic(e);
+                        isComplete = false;
+                    }
+                }
+            }
+            return new PushedDownWhereClause(whereClause.isEmpty() ? null : whereClause, isComplete);
+        }
+
+        private List<Node> processWhereClause(WhereClauseNode whereClauseNode, ExpressionNode expression,
+                                              BindingPatternNode bindingPatternNode, Query query)
+                throws NotSupportedExpressionException {
+            ExpressionBuilder expressionBuilder = new ExpressionBuilder(expression, bindingPatternNode,
+                    query.getLetVariables(whereClauseNode), entityFieldDeclarations.get(query.getTableName()));
             ExpressionVisitor expressionVisitor = new ExpressionVisitor();
-            expressionBuilder.build(expressionVisitor, query);
+            if (isLogicalExpression(expression, SyntaxKind.LOGICAL_OR_TOKEN)) {
+                // The disjunction of a where clause is joined with the other conjuncts
+                expressionVisitor.beginVisitBraces();
+                expressionBuilder.build(expressionVisitor, query);
+                expressionVisitor.endVisitBraces();
+            } else {
+                expressionBuilder.build(expressionVisitor, query);
+            }
             return expressionVisitor.getExpression();
         }
 
+        // Splits the expression into the operands of its top level `&&` operators
+        private static void addConjuncts(ExpressionNode expression, List<ExpressionNode> conjuncts) {
+            if (expression instanceof BracedExpressionNode bracedExpressionNode &&
+                    isLogicalExpression(bracedExpressionNode.expression(), SyntaxKind.LOGICAL_AND_TOKEN)) {
+                addConjuncts(bracedExpressionNode.expression(), conjuncts);
+            } else if (isLogicalExpression(expression, SyntaxKind.LOGICAL_AND_TOKEN)) {
+                BinaryExpressionNode binaryExpressionNode = (BinaryExpressionNode) expression;
+                addConjuncts(binaryExpressionNode.lhsExpr(), conjuncts);
+                addConjuncts(binaryExpressionNode.rhsExpr(), conjuncts);
+            } else {
+                conjuncts.add(expression);
+            }
+        }
+
+        private static boolean isLogicalExpression(ExpressionNode expression, SyntaxKind operator) {
+            return expression instanceof BinaryExpressionNode binaryExpressionNode &&
+                    binaryExpressionNode.operator().kind() == operator;
+        }
+
         private Node processOrderByClause(OrderByClauseNode orderByClauseNode,
-                                          BindingPatternNode bindingPatternNode, Query query) {
+                                          BindingPatternNode bindingPatternNode, Query query)
+                throws NotSupportedExpressionException {
             StringBuilder orderByClause = new StringBuilder();
             SeparatedNodeList<OrderKeyNode> orderKeyNodes = orderByClauseNode.orderKey();
             String tableName = query.getTableName();
+            Map<String, ExpressionNode> letVariables = query.getLetVariables(orderByClauseNode);
             for (int i = 0; i < orderKeyNodes.size(); i++) {
                 if (i != 0) {
                     orderByClause.append(Constants.COMMA_WITH_SPACE);
                 }
-                ExpressionNode expression = orderKeyNodes.get(i).expression();
+                ExpressionNode expression = resolveLetVariable(orderKeyNodes.get(i).expression(), letVariables);
+                if (expression == null) {
+                    throw getInMemoryClauseException(Constants.ORDER_BY, orderKeyNodes.get(i).expression());
+                }
                 if (expression instanceof FieldAccessExpressionNode fieldAccessNode) {
                     if (!(bindingPatternNode instanceof CaptureBindingPatternNode)) {
                         // If this is not capture pattern there is compilation error
-                        return null;
+                        throw getInMemoryClauseException(Constants.ORDER_BY, orderKeyNodes.get(i).expression());
                     }
                     String bindingVariableName = ((CaptureBindingPatternNode) bindingPatternNode).
                             variableName().text();
                     Node node = fieldAccessNode.expression();
                     if (node instanceof FieldAccessExpressionNode accessExpressionNode) {
                         if (!bindingVariableName.equals(accessExpressionNode.expression().toSourceCode().trim())) {
-                            return null;
+                            throw getInMemoryClauseException(Constants.ORDER_BY, orderKeyNodes.get(i).expression());
                         }
                         String relationalTableName = stripEscapeCharacter(accessExpressionNode.fieldName().
                                 toSourceCode().trim());
@@ -348,25 +686,19 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
                         String recordName = stripEscapeCharacter(((SimpleNameReferenceNode) fieldAccessNode.
                                 expression()).name().text());
                         if (!bindingVariableName.equals(recordName)) {
-                            return null;
+                            throw getInMemoryClauseException(Constants.ORDER_BY, orderKeyNodes.get(i).expression());
                         }
                         orderByClause.append(tableName).append(".").append(
                                 stripEscapeCharacter(((SimpleNameReferenceNode) fieldAccessNode.fieldName()).
                                         name().text()));
                     }
-                } else if (expression instanceof SimpleNameReferenceNode) {
-                    orderByClause.append(Constants.INTERPOLATION_START_TOKEN).append(
-                                    ((SimpleNameReferenceNode) expression).name().text()).
-                            append(Constants.INTERPOLATION_END_TOKEN);
                 } else if (expression instanceof OptionalFieldAccessExpressionNode fieldNode) {
                     orderByClause.append(getReferenceTableName(fieldNode)).append(".").
                             append(stripEscapeCharacter(fieldNode.fieldName().toSourceCode().trim()));
-                } else if (expression instanceof FunctionCallExpressionNode) {
-                    orderByClause.append(Constants.INTERPOLATION_START_TOKEN).append(getReferenceTableName(
-                            (FunctionCallExpressionNode) expression)).append(Constants.INTERPOLATION_END_TOKEN);
                 } else {
-                    // Persistent client does not support order by using parameters
-                    return null;
+                    // Only the columns can be ordered by, as the values of the clause are accepted by the client
+                    // only if they are column identifiers
+                    throw getInMemoryClauseException(Constants.ORDER_BY, orderKeyNodes.get(i).expression());
                 }
                 if (orderKeyNodes.get(i).orderDirection().isPresent()) {
                     Token orderDirection = orderKeyNodes.get(i).orderDirection().get();
@@ -384,25 +716,34 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
         }
 
         private Node processGroupByClause(GroupByClauseNode groupByClauseNode,
-                                          BindingPatternNode bindingPatternNode, Query query) {
+                                          BindingPatternNode bindingPatternNode, Query query)
+                throws NotSupportedExpressionException {
             StringBuilder groupByClause = new StringBuilder();
             SeparatedNodeList<Node> groupingKey = groupByClauseNode.groupingKey();
             String tableName = query.getTableName();
+            Map<String, ExpressionNode> letVariables = query.getLetVariables(groupByClauseNode);
             for (int i = 0; i < groupingKey.size(); i++) {
                 if (i != 0) {
                     groupByClause.append(Constants.COMMA_WITH_SPACE);
                 }
-                ExpressionNode expression = ((GroupingKeyVarDeclarationNode) groupingKey.get(i)).expression();
+                if (!(groupingKey.get(i) instanceof GroupingKeyVarDeclarationNode groupingKeyVarDeclarationNode)) {
+                    throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
+                }
+                ExpressionNode expression = resolveLetVariable(groupingKeyVarDeclarationNode.expression(),
+                        letVariables);
+                if (expression == null) {
+                    throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
+                }
                 if (expression instanceof FieldAccessExpressionNode fieldAccessNode) {
                     if (!(bindingPatternNode instanceof CaptureBindingPatternNode)) {
                         // If this is not capture pattern there is compilation error
-                        return null;
+                        throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
                     }
                     String bindingVariableName = ((CaptureBindingPatternNode) bindingPatternNode).variableName().text();
                     Node node = fieldAccessNode.expression();
                     if (node instanceof FieldAccessExpressionNode accessExpressionNode) {
                         if (!bindingVariableName.equals(accessExpressionNode.expression().toSourceCode().trim())) {
-                            return null;
+                            throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
                         }
                         String relationalTableName = stripEscapeCharacter(accessExpressionNode.fieldName().
                                 toSourceCode().trim());
@@ -412,7 +753,7 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
                     } else {
                         if (!bindingVariableName.equals(((SimpleNameReferenceNode) fieldAccessNode.
                                 expression()).name().text())) {
-                            return null;
+                            throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
                         }
                         String fieldName = stripEscapeCharacter(((SimpleNameReferenceNode) fieldAccessNode.
                                 fieldName()).name().text());
@@ -421,23 +762,23 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
                 } else if (expression instanceof OptionalFieldAccessExpressionNode fieldNode) {
                     groupByClause.append(getReferenceTableName(fieldNode)).append(".").
                             append(stripEscapeCharacter(fieldNode.fieldName().toSourceCode().trim()));
-                } else if (expression instanceof FunctionCallExpressionNode) {
-                    groupByClause.append(Constants.INTERPOLATION_START_TOKEN).append(getReferenceTableName(
-                            (FunctionCallExpressionNode) expression)).append(Constants.INTERPOLATION_END_TOKEN);
-                } else if (expression instanceof SimpleNameReferenceNode) {
-                    groupByClause.append(Constants.INTERPOLATION_START_TOKEN).append(
-                            ((SimpleNameReferenceNode) expression).name().text()).
-                            append(Constants.INTERPOLATION_END_TOKEN);
                 } else {
-                    // Persistent client does not support group by using parameters
-                    return null;
+                    // Only the columns can be grouped by, as the values of the clause are accepted by the client
+                    // only if they are column identifiers
+                    throw getInMemoryClauseException(Constants.GROUP_BY, groupingKey.get(i));
                 }
             }
             return getStringLiteralToken(groupByClause.toString());
         }
 
-        private Node processLimitClause(LimitClauseNode limitClauseNode) {
-            ExpressionNode limitByExpression = limitClauseNode.expression();
+        private Node processLimitClause(LimitClauseNode limitClauseNode, BindingPatternNode bindingPatternNode,
+                                        Query query) throws NotSupportedExpressionException {
+            Map<String, ExpressionNode> letVariables = query.getLetVariables(limitClauseNode);
+            ExpressionNode limitByExpression = resolveLetVariable(limitClauseNode.expression(), letVariables);
+            if (limitByExpression == null ||
+                    referencesVariables(limitByExpression, getQueryVariables(bindingPatternNode, letVariables))) {
+                throw getInMemoryClauseException(Constants.LIMIT, limitClauseNode.expression());
+            }
             if (limitByExpression instanceof BasicLiteralNode &&
                     limitByExpression.kind() == SyntaxKind.NUMERIC_LITERAL) {
                 return getStringLiteralToken(Constants.SPACE + ((BasicLiteralNode) limitByExpression).
@@ -454,11 +795,55 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
                         arguments.get(0).toSourceCode() + functionCallExpressionNode.closeParenToken().text() +
                         Constants.INTERPOLATION_END_TOKEN);
             } else {
-                return null;
+                throw getInMemoryClauseException(Constants.LIMIT, limitClauseNode.expression());
+            }
+        }
+    }
+
+    private record PushedDownWhereClause(List<Node> expression, boolean isComplete) {
+    }
+
+    private static class AggregateCallModifier extends TreeModifier {
+        private final Map<String, String> replacedCalls;
+
+        public AggregateCallModifier(Map<String, String> replacedCalls) {
+            this.replacedCalls = replacedCalls;
+        }
+
+        @Override
+        public FunctionCallExpressionNode transform(FunctionCallExpressionNode functionCallExpressionNode) {
+            String replacedCall = replacedCalls.get(functionCallExpressionNode.toSourceCode().trim());
+            if (replacedCall == null) {
+                return functionCallExpressionNode;
             }
+            String functionName = replacedCall.substring(0, replacedCall.indexOf(Constants.OPEN_BRACES));
+            String argument = replacedCall.substring(functionName.length() + 1, replacedCall.length() - 1);
+            return functionCallExpressionNode.modify(
+                    NodeFactory.createSimpleNameReferenceNode(NodeFactory.createIdentifierToken(functionName)),
+                    functionCallExpressionNode.openParenToken(),
+                    NodeFactory.createSeparatedNodeList(NodeFactory.createPositionalArgumentNode(
+                            NodeFactory.createSimpleNameReferenceNode(getStringLiteralToken(argument)))),
+                    functionCallExpressionNode.closeParenToken()
+            );
         }
     }
 
+    /**
+     * Returns the exception thrown when a clause of a persist query cannot be translated to SQL, along with the
+     * warning which points at the expression that is evaluated in memory.
+     *
+     * @param clause the name of the clause
+     * @param node   the expression which cannot be translated
+     * @return the exception to be thrown
+     */
+    public static NotSupportedExpressionException getInMemoryClauseException(String clause, Node node) {
+        DiagnosticInfo diagnosticInfo = new DiagnosticInfo(DiagnosticsCodes.PERSIST_SQL_207.getCode(),
+                MessageFormat.format(DiagnosticsCodes.PERSIST_SQL_207.getMessage(), clause),
+                DiagnosticsCodes.PERSIST_SQL_207.getSeverity());
+        return new NotSupportedExpressionException("Unsupported " + clause + " clause.",
+                DiagnosticFactory.createDiagnostic(diagnosticInfo, node.location()));
+    }
+
     public static boolean hasCompilationErrors(SyntaxNodeAnalysisContext context) {
         for (Diagnostic diagnostic : context.compilation().diagnosticResult().diagnostics()) {
             if (diagnostic.diagnosticInfo().severity() == DiagnosticSeverity.ERROR) {
@@ -485,6 +870,62 @@ public class QueryCodeModifierTask implements ModifierTask<SourceModifierContext
                 arguments.get(0).toSourceCode() + expression.closeParenToken().text();
     }
 
+    /**
+     * Resolves a reference to a let variable to the expression the variable is bound to.
+     *
+     * @param expression   the expression to be resolved
+     * @param letVariables the let variables visible to the expression
+     * @return the resolved expression, or null if the variable cannot be substituted by an expression
+     */
+    public static ExpressionNode resolveLetVariable(ExpressionNode expression,
+                                                    Map<String, ExpressionNode> letVariables) {
+        while (expression instanceof SimpleNameReferenceNode nameReferenceNode) {
+            String name = stripEscapeCharacter(nameReferenceNode.name().text());
+            if (!letVariables.containsKey(name)) {
+                break;
+            }
+            expression = letVariables.get(name);
+        }
+        return expression;
+    }
+
+    /**
+     * Checks whether the given node refers to any of the given variables.
+     *
+     * @param node          the node to be checked
+     * @param variableNames the names of the variables
+     * @return true if any of the variables is referred
+     */
+    public static boolean referencesVariables(Node node, Collection<String> variableNames) {
+        if (node instanceof SimpleNameReferenceNode nameReferenceNode) {
+            return variableNames.contains(stripEscapeCharacter(nameReferenceNode.name().text()));
+        }
+        if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                if (referencesVariables(child, variableNames)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // The variables which are only defined within the query, i.e. the variables bound by the from and let clauses
+    private static Set<String> getQueryVariables(BindingPatternNode bindingPatternNode,
+                                                 Map<String, ExpressionNode> letVariables) {
+        Set<String> queryVariables = new HashSet<>(letVariables.keySet());
+        if (bindingPatternNode instanceof CaptureBindingPatternNode captureBindingPatternNode) {
+            queryVariables.add(stripEscapeCharacter(captureBindingPatternNode.variableName().text()));
+        } else if (bindingPatternNode instanceof MappingBindingPatternNode mappingBindingPatternNode) {
+            for (BindingPatternNode patternNode : mappingBindingPatternNode.fieldBindingPatterns()) {
+                if (patternNode instanceof FieldBindingPatternVarnameNode varnameNode) {
+                    queryVariables.add(stripEscapeCharacter(varnameNode.variableName().name().text()));
+                }
+            }
+        }
+        return queryVariables;
+    }
+
     public static String getReferenceTableName(OptionalFieldAccessExpressionNode expression) {
         return stripEscapeCharacter(((FieldAccessExpressionNode) expression.
                 expression()).fieldName().toSourceCode().trim());
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.sql.compiler.expression;
+
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.ClauseNode;
+import io.ballerina.compiler.syntax.tree.CollectClauseNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.GroupByClauseNode;
+import io.ballerina.compiler.syntax.tree.GroupingKeyVarDeclarationNode;
+import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeList;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.QueryExpressionNode;
+import io.ballerina.compiler.syntax.tree.QueryPipelineNode;
+import io.ballerina.compiler.syntax.tree.SelectClauseNode;
+import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.TypedBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.WhereClauseNode;
+import io.ballerina.stdlib.persist.sql.compiler.Constants;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.stripEscapeCharacter;
+
+/**
+ * Builder class to translate the aggregate function calls of a grouped query, so that the aggregates are computed
+ * by the database and a single row is retrieved per group.
+ * <p>
+ * Each aggregate is retrieved into a field of the target type named after the function and the aggregated field.
+ * The grouping is retained in the query, hence each call is replaced by a call which aggregates the single value
+ * of its group, e.g. `count(e.id)` is replaced by `sum(e.persistAggregate_count)`.
+ */
+public class AggregateBuilder {
+
+    private static final List<String> NUMERIC_TYPES = List.of(Constants.BallerinaTypes.INT,
+            Constants.BallerinaTypes.DECIMAL, Constants.BallerinaTypes.FLOAT);
+
+    private final QueryPipelineNode queryPipelineNode;
+    private final Map<String, String> fieldDeclarations;
+    private final Map<String, String> aggregateFields = new LinkedHashMap<>();
+    private final Map<String, String> aggregateCalls = new LinkedHashMap<>();
+    private final Set<String> groupingFields = new LinkedHashSet<>();
+    private String bindingVariableName;
+    private boolean isGrouped = false;
+
+    public AggregateBuilder(QueryPipelineNode queryPipelineNode, Map<String, String> fieldDeclarations) {
+        this.queryPipelineNode = queryPipelineNode;
+        this.fieldDeclarations = fieldDeclarations;
+    }
+
+    /**
+     * Analyzes the query and collects the aggregates to be computed by the database.
+     *
+     * @return true if all the aggregates of the query can be computed by the database
+     */
+    public boolean build() {
+        if (fieldDeclarations == null ||
+                !(queryPipelineNode.parent() instanceof QueryExpressionNode queryExpressionNode)) {
+            return false;
+        }
+        TypedBindingPatternNode typedBindingPattern = queryPipelineNode.fromClause().typedBindingPattern();
+        if (typedBindingPattern.typeDescriptor().kind() != SyntaxKind.VAR_TYPE_DESC ||
+                !(typedBindingPattern.bindingPattern() instanceof CaptureBindingPatternNode bindingPattern)) {
+            // The type of the binding is replaced by the grouping and aggregated fields
+            return false;
+        }
+        bindingVariableName = stripEscapeCharacter(bindingPattern.variableName().text());
+
+        // Only the clauses which are translated to SQL are allowed, as any other clause would be evaluated
+        // against the rows of the groups instead of the rows of the entity
+        NodeList<IntermediateClauseNode> intermediateClauses = queryPipelineNode.intermediateClauses();
+        for (int i = 0; i < intermediateClauses.size(); i++) {
+            IntermediateClauseNode clause = intermediateClauses.get(i);
+            if (clause instanceof GroupByClauseNode groupByClauseNode && i == intermediateClauses.size() - 1) {
+                if (!addGroupingFields(groupByClauseNode)) {
+                    return false;
+                }
+                isGrouped = true;
+            } else if (!(clause instanceof WhereClauseNode)) {
+                return false;
+            }
+        }
+        ClauseNode resultClause = queryExpressionNode.resultClause();
+        if (isGrouped ? !(resultClause instanceof SelectClauseNode) : !(resultClause instanceof CollectClauseNode)) {
+            return false;
+        }
+        return addAggregates(resultClause) && !aggregateFields.isEmpty();
+    }
+
+    /**
+     * Returns the target type of the query, i.e. a closed record of the grouping fields and the aggregates.
+     *
+     * @return the target type of the query
+     */
+    public String getTargetType() {
+        StringBuilder targetType = new StringBuilder(Constants.CLOSED_RECORD_START);
+        for (String groupingField : groupingFields) {
+            targetType.append(fieldDeclarations.get(groupingField)).append(Constants.SEMICOLON)
+                    .append(Constants.SPACE);
+        }
+        for (Map.Entry<String, String> aggregateField : aggregateFields.entrySet()) {
+            targetType.append(aggregateField.getValue()).append(Constants.SPACE).append(aggregateField.getKey())
+                    .append(Constants.SEMICOLON).append(Constants.SPACE);
+        }
+        return targetType.append(Constants.CLOSED_RECORD_END).toString();
+    }
+
+    /**
+     * Returns the aggregate function calls of the query mapped to the calls which replace them.
+     *
+     * @return the source code of the calls mapped to the source code of their replacements
+     */
+    public Map<String, String> getAggregateCalls() {
+        return aggregateCalls;
+    }
+
+    private boolean addGroupingFields(GroupByClauseNode groupByClauseNode) {
+        for (Node groupingKey : groupByClauseNode.groupingKey()) {
+            if (!(groupingKey instanceof GroupingKeyVarDeclarationNode groupingKeyVarDeclarationNode)) {
+                return false;
+            }
+            String fieldName = getFieldName(groupingKeyVarDeclarationNode.expression());
+            if (fieldName == null || fieldDeclarations.get(fieldName) == null) {
+                return false;
+            }
+            groupingFields.add(fieldName);
+        }
+        return true;
+    }
+
+    private boolean addAggregates(Node node) {
+        if (node instanceof FunctionCallExpressionNode functionCall &&
+                functionCall.functionName() instanceof SimpleNameReferenceNode functionName &&
+                Constants.AGGREGATE_FUNCTIONS.contains(functionName.name().text())) {
+            if (functionCall.arguments().size() == 1 &&
+                    functionCall.arguments().get(0) instanceof PositionalArgumentNode argument &&
+                    isBindingVariableReferred(argument)) {
+                return addAggregate(functionName.name().text(), argument.expression(), functionCall);
+            }
+        }
+        if (node instanceof SimpleNameReferenceNode nameReferenceNode) {
+            // The rows of the groups are not retrieved, hence the binding can only be aggregated
+            return !bindingVariableName.equals(stripEscapeCharacter(nameReferenceNode.name().text()));
+        }
+        if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                if (!addAggregates(child)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean addAggregate(String function, ExpressionNode argument, FunctionCallExpressionNode functionCall) {
+        String aggregateField;
+        String aggregateType;
+        if (isBindingVariable(argument)) {
+            if (!function.equals(Constants.COUNT_FUNCTION)) {
+                return false;
+            }
+            aggregateField = Constants.AGGREGATE_ALIAS_PREFIX + "_" + function;
+            aggregateType = Constants.BallerinaTypes.INT;
+        } else {
+            String fieldName = getFieldName(argument);
+            String fieldDeclaration = fieldName == null ? null : fieldDeclarations.get(fieldName);
+            if (fieldDeclaration == null) {
+                return false;
+            }
+            String fieldType = fieldDeclaration.substring(0, fieldDeclaration.indexOf(Constants.SPACE));
+            if (function.equals(Constants.COUNT_FUNCTION)) {
+                // `count` counts the nil values as well, whereas `COUNT(column)` skips the `NULL`s, hence the rows
+                // of the group are counted
+                aggregateField = Constants.AGGREGATE_ALIAS_PREFIX + "_" + function;
+                aggregateType = Constants.BallerinaTypes.INT;
+            } else if (!isGrouped) {
+                // The aggregate of an empty result is nil, which cannot be aggregated again in the query
+                return false;
+            } else if (function.equals(Constants.AVG_FUNCTION) ? fieldType.equals(Constants.BallerinaTypes.FLOAT) :
+                    NUMERIC_TYPES.contains(fieldType)) {
+                // The average of integers is rounded by some databases and the scale of the average of decimals
+                // differs between the databases, hence those are computed in the query
+                aggregateField = Constants.AGGREGATE_ALIAS_PREFIX + "_" + function + "_" + fieldName;
+                aggregateType = fieldType;
+            } else {
+                return false;
+            }
+        }
+        aggregateFields.put(aggregateField, aggregateType);
+        // The count of the group is retrieved as a single value, hence it is summed instead of counted
+        String replacementFunction = function.equals(Constants.COUNT_FUNCTION) ? Constants.SUM_FUNCTION : function;
+        aggregateCalls.put(functionCall.toSourceCode().trim(), replacementFunction + Constants.OPEN_BRACES +
+                bindingVariableName + "." + aggregateField + Constants.CLOSE_BRACES);
+        return true;
+    }
+
+    private boolean isBindingVariableReferred(PositionalArgumentNode argument) {
+        ExpressionNode expression = argument.expression();
+        return isBindingVariable(expression) || (expression instanceof FieldAccessExpressionNode fieldAccess &&
+                isBindingVariable(fieldAccess.expression()));
+    }
+
+    private String getFieldName(ExpressionNode expression) {
+        if (expression instanceof FieldAccessExpressionNode fieldAccess &&
+                isBindingVariable(fieldAccess.expression())) {
+            return stripEscapeCharacter(fieldAccess.fieldName().toSourceCode().trim());
+        }
+        return null;
+    }
+
+    private boolean isBindingVariable(Node node) {
+        return node instanceof SimpleNameReferenceNode nameReferenceNode &&
+                bindingVariableName.equals(stripEscapeCharacter(nameReferenceNode.name().text()));
+    }
+}
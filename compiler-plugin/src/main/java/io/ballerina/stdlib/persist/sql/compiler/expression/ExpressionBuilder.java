@@ -27,24 +27,33 @@ import io.ballerina.compiler.syntax.tree.ChildNodeList;
 import io.ballerina.compiler.syntax.tree.ExpressionNode;
 import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
 import io.ballerina.compiler.syntax.tree.FieldBindingPatternVarnameNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
 import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.ListConstructorExpressionNode;
 import io.ballerina.compiler.syntax.tree.LiteralValueToken;
 import io.ballerina.compiler.syntax.tree.MappingBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.MethodCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
 import io.ballerina.compiler.syntax.tree.OptionalFieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
 import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
 import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
-import io.ballerina.stdlib.persist.sql.compiler.DiagnosticsCodes;
+import io.ballerina.compiler.syntax.tree.UnaryExpressionNode;
+import io.ballerina.stdlib.persist.sql.compiler.Constants;
 import io.ballerina.stdlib.persist.sql.compiler.exception.NotSupportedExpressionException;
 import io.ballerina.stdlib.persist.sql.compiler.model.Query;
-import io.ballerina.tools.diagnostics.Diagnostic;
-import io.ballerina.tools.diagnostics.DiagnosticFactory;
-import io.ballerina.tools.diagnostics.DiagnosticInfo;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.getInMemoryClauseException;
 import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.getReferenceTableName;
+import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.referencesVariables;
 import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.stripEscapeCharacter;
 
 /**
@@ -55,9 +64,15 @@ public class ExpressionBuilder {
     private boolean isCaptureBindingPattern = false;
     private String bindingVariableName = "";
     private final List<String> fieldNames = new ArrayList<>();
+    private final Map<String, ExpressionNode> letVariables;
+    private final Map<String, String> fieldDeclarations;
+    private final Set<String> queryVariables;
 
-    public ExpressionBuilder(ExpressionNode expression, BindingPatternNode bindingPatternNode) {
+    public ExpressionBuilder(ExpressionNode expression, BindingPatternNode bindingPatternNode,
+                             Map<String, ExpressionNode> letVariables, Map<String, String> fieldDeclarations) {
         this.expressionNode = expression;
+        this.letVariables = letVariables;
+        this.fieldDeclarations = fieldDeclarations;
         if (bindingPatternNode instanceof CaptureBindingPatternNode) {
             this.isCaptureBindingPattern = true;
             this.bindingVariableName = ((CaptureBindingPatternNode) bindingPatternNode).variableName().text();
@@ -69,6 +84,9 @@ public class ExpressionBuilder {
                 fieldNames.add(field);
             }
         }
+        this.queryVariables = new HashSet<>(letVariables.keySet());
+        this.queryVariables.add(this.bindingVariableName);
+        this.queryVariables.addAll(this.fieldNames);
     }
     public void build(ExpressionVisitor expressionVisitor, Query query) throws NotSupportedExpressionException {
         buildVariableExecutors(expressionNode, expressionVisitor, query);
@@ -100,6 +118,10 @@ public class ExpressionBuilder {
                     buildVariableExecutors((ExpressionNode) expressionChildren.get(2), expressionVisitor, query);
                     expressionVisitor.endVisitOrRightOperand();
                     expressionVisitor.endVisitOr();
+                } else if (isNilLiteral(expressionChildren.get(0)) || isNilLiteral(expressionChildren.get(2))) {
+                    ExpressionNode operand = (ExpressionNode) (isNilLiteral(expressionChildren.get(0)) ?
+                            expressionChildren.get(2) : expressionChildren.get(0));
+                    buildNilCompare(operand, tokenKind, expressionVisitor, query);
                 } else {
                     expressionVisitor.beginVisitCompare(tokenKind);
                     expressionVisitor.beginVisitCompareLeftOperand(tokenKind);
@@ -110,6 +132,23 @@ public class ExpressionBuilder {
                     expressionVisitor.endVisitCompareRightOperand(tokenKind);
                     expressionVisitor.endVisitCompare(tokenKind);
                 }
+            } else if (expressionNode instanceof UnaryExpressionNode unaryExpressionNode &&
+                    unaryExpressionNode.unaryOperator().kind() == SyntaxKind.EXCLAMATION_MARK_TOKEN) {
+                if (refersNilableField(unaryExpressionNode.expression())) {
+                    // `NOT` of a predicate over a `NULL` column is not true, unlike the negation in Ballerina
+                    throw new NotSupportedExpressionException("Unsupported negation of a nilable field.");
+                }
+                expressionVisitor.beginVisitNot();
+                if (unaryExpressionNode.expression() instanceof BracedExpressionNode) {
+                    buildVariableExecutors(unaryExpressionNode.expression(), expressionVisitor, query);
+                } else {
+                    expressionVisitor.beginVisitBraces();
+                    buildVariableExecutors(unaryExpressionNode.expression(), expressionVisitor, query);
+                    expressionVisitor.endVisitBraces();
+                }
+                expressionVisitor.endVisitNot();
+            } else if (expressionNode instanceof MethodCallExpressionNode methodCallExpressionNode) {
+                buildStringMatch(methodCallExpressionNode, expressionVisitor, query);
             } else if (expressionNode instanceof BracedExpressionNode) {
                 expressionVisitor.beginVisitBraces();
                 buildVariableExecutors(((BracedExpressionNode) expressionNode).expression(), expressionVisitor, query);
@@ -134,7 +173,9 @@ public class ExpressionBuilder {
             } else if (expressionNode instanceof SimpleNameReferenceNode) {
                 String referencedName = stripEscapeCharacter(
                         ((SimpleNameReferenceNode) expressionNode).name().text());
-                if (this.isCaptureBindingPattern) {
+                if (letVariables.containsKey(referencedName)) {
+                    buildLetVariable(referencedName, expressionVisitor, query);
+                } else if (this.isCaptureBindingPattern) {
                     expressionVisitor.beginVisitBalVariable(referencedName);
                     expressionVisitor.endVisitBalVariable(referencedName);
                 } else {
@@ -152,6 +193,10 @@ public class ExpressionBuilder {
                 expressionVisitor.beginVisitConstant(literalValueToken.text(), literalValueToken.kind());
                 expressionVisitor.endVisitConstant(literalValueToken.text(), literalValueToken.kind());
             } else if (expressionNode instanceof FunctionCallExpressionNode) {
+                if (referencesVariables(expressionNode, queryVariables)) {
+                    // The call is interpolated at the client call, where the query variables are not defined
+                    throw new NotSupportedExpressionException("Unsupported function call.");
+                }
                 String referencedName = getReferenceTableName((FunctionCallExpressionNode) expressionNode);
                 expressionVisitor.beginVisitBalVariable(referencedName);
                 expressionVisitor.endVisitBalVariable(referencedName);
@@ -160,16 +205,206 @@ public class ExpressionBuilder {
             }
         } catch (NotSupportedExpressionException e) {
             if (e.getDiagnostic() == null) {
-                DiagnosticInfo diagnosticInfo = new DiagnosticInfo(DiagnosticsCodes.PERSIST_SQL_201.getCode(),
-                        DiagnosticsCodes.PERSIST_SQL_201.getMessage(), DiagnosticsCodes.PERSIST_SQL_201.getSeverity());
-                Diagnostic diagnostic = DiagnosticFactory.createDiagnostic(diagnosticInfo, expressionNode.location());
-                throw new NotSupportedExpressionException("Unsupported expression.", diagnostic);
+                // The innermost expression which cannot be translated is reported
+                throw getInMemoryClauseException(Constants.WHERE, expressionNode);
             } else {
                 throw e;
             }
         }
     }
 
+    // Substitutes the let variable with the expression it is bound to
+    private void buildLetVariable(String variableName, ExpressionVisitor expressionVisitor, Query query)
+            throws NotSupportedExpressionException {
+        ExpressionNode letExpression = letVariables.get(variableName);
+        if (letExpression == null) {
+            throw new NotSupportedExpressionException("Unsupported let variable.");
+        }
+        if (letExpression instanceof BinaryExpressionNode) {
+            expressionVisitor.beginVisitBraces();
+            buildVariableExecutors(letExpression, expressionVisitor, query);
+            expressionVisitor.endVisitBraces();
+        } else {
+            buildVariableExecutors(letExpression, expressionVisitor, query);
+        }
+    }
+
+    // `e.field == ()` is translated to `IS NULL`, and `values.indexOf(e.field) != ()` to `IN` with a parameter per
+    // member of a list constructor, or a single parameter which is expanded by the client otherwise. `NOT IN` is
+    // always passed as a single parameter so that the client drops the nil members, which would match no row.
+    // Membership tests of the nilable fields are not translated as `NULL` is neither `IN` nor `NOT IN` in SQL.
+    private void buildNilCompare(ExpressionNode operand, SyntaxKind operator, ExpressionVisitor expressionVisitor,
+                                 Query query) throws NotSupportedExpressionException {
+        if (!(operand instanceof MethodCallExpressionNode methodCallExpressionNode) ||
+                !Constants.INDEX_OF_METHOD.equals(methodCallExpressionNode.methodName().toSourceCode().trim())) {
+            buildVariableExecutors(operand, expressionVisitor, query);
+            expressionVisitor.visitNilCompare(operator);
+            return;
+        }
+        if (operator != SyntaxKind.DOUBLE_EQUAL_TOKEN && operator != SyntaxKind.NOT_EQUAL_TOKEN) {
+            throw new NotSupportedExpressionException(operator.stringValue() + " not supported!");
+        }
+        ExpressionNode list = methodCallExpressionNode.expression();
+        ExpressionNode member = getMethodArgument(methodCallExpressionNode);
+        if (referencesVariables(list, queryVariables) || !referencesVariables(member, queryVariables) ||
+                refersNilableField(member)) {
+            throw new NotSupportedExpressionException("Unsupported membership test.");
+        }
+        boolean isNegated = operator == SyntaxKind.DOUBLE_EQUAL_TOKEN;
+        buildVariableExecutors(member, expressionVisitor, query);
+        expressionVisitor.beginVisitIn(isNegated);
+        if (!isNegated && list instanceof ListConstructorExpressionNode listConstructorExpressionNode) {
+            SeparatedNodeList<Node> listMembers = listConstructorExpressionNode.expressions();
+            if (listMembers.isEmpty()) {
+                throw new NotSupportedExpressionException("Unsupported membership test.");
+            }
+            for (int i = 0; i < listMembers.size(); i++) {
+                if (!(listMembers.get(i) instanceof ExpressionNode)) {
+                    // Spread members
+                    throw new NotSupportedExpressionException("Unsupported membership test.");
+                }
+                if (i > 0) {
+                    expressionVisitor.visitInSeparator();
+                }
+                String listMember = listMembers.get(i).toSourceCode().trim();
+                expressionVisitor.beginVisitBalVariable(listMember);
+                expressionVisitor.endVisitBalVariable(listMember);
+            }
+        } else {
+            if (list instanceof ListConstructorExpressionNode listConstructorExpressionNode &&
+                    listConstructorExpressionNode.expressions().isEmpty()) {
+                throw new NotSupportedExpressionException("Unsupported membership test.");
+            }
+            String listValue = list.toSourceCode().trim();
+            expressionVisitor.beginVisitBalVariable(listValue);
+            expressionVisitor.endVisitBalVariable(listValue);
+        }
+        expressionVisitor.endVisitIn();
+    }
+
+    // `e.field.startsWith(value)`, `e.field.endsWith(value)` and `e.field.includes(value)` are translated to `LIKE`
+    private void buildStringMatch(MethodCallExpressionNode methodCallExpressionNode,
+                                  ExpressionVisitor expressionVisitor, Query query)
+            throws NotSupportedExpressionException {
+        String methodName = methodCallExpressionNode.methodName().toSourceCode().trim();
+        String prefix;
+        String suffix;
+        switch (methodName) {
+            case Constants.STARTS_WITH_METHOD:
+                prefix = "";
+                suffix = Constants.LIKE_WILDCARD;
+                break;
+            case Constants.ENDS_WITH_METHOD:
+                prefix = Constants.LIKE_WILDCARD;
+                suffix = "";
+                break;
+            case Constants.INCLUDES_METHOD:
+                prefix = Constants.LIKE_WILDCARD;
+                suffix = Constants.LIKE_WILDCARD;
+                break;
+            default:
+                throw new NotSupportedExpressionException("Unsupported method call.");
+        }
+        ExpressionNode value = getMethodArgument(methodCallExpressionNode);
+        if (!referencesVariables(methodCallExpressionNode.expression(), queryVariables) ||
+                referencesVariables(value, queryVariables)) {
+            throw new NotSupportedExpressionException("Unsupported method call.");
+        }
+        buildVariableExecutors(methodCallExpressionNode.expression(), expressionVisitor, query);
+        String pattern = getLikePattern(value, prefix, suffix);
+        expressionVisitor.beginVisitLike();
+        expressionVisitor.beginVisitBalVariable(pattern);
+        expressionVisitor.endVisitBalVariable(pattern);
+        expressionVisitor.endVisitLike();
+    }
+
+    // Returns the expression of the `LIKE` pattern, in which the special characters of the value are escaped so that
+    // it is matched literally. The value is escaped when the query is executed unless it is a string literal.
+    private static String getLikePattern(ExpressionNode value, String prefix, String suffix) {
+        String source = value.toSourceCode().trim();
+        if (value.kind() == SyntaxKind.STRING_LITERAL && !source.contains("\\")) {
+            StringBuilder pattern = new StringBuilder("\"").append(prefix);
+            for (char character : source.substring(1, source.length() - 1).toCharArray()) {
+                if (Constants.LIKE_SPECIAL_CHARACTERS.contains(String.valueOf(character))) {
+                    pattern.append(Constants.LIKE_ESCAPE_CHARACTER);
+                }
+                pattern.append(character);
+            }
+            return pattern.append(suffix).append("\"").toString();
+        }
+        String pattern = Constants.OPEN_BRACES + source + Constants.CLOSE_BRACES;
+        for (String character : Constants.LIKE_SPECIAL_CHARACTERS) {
+            pattern = "re `" + character + "`.replaceAll(" + pattern + ", \"" + Constants.LIKE_ESCAPE_CHARACTER +
+                    character + "\")";
+        }
+        if (!prefix.isEmpty()) {
+            pattern = "\"" + prefix + "\" + " + pattern;
+        }
+        if (!suffix.isEmpty()) {
+            pattern = pattern + " + \"" + suffix + "\"";
+        }
+        return pattern;
+    }
+
+    // Whether the value of the expression depends on a field which can be `NULL` in the data source, i.e. a nilable or
+    // an optional field, or a field of an associated entity. A comparison with nil is not, as `IS NULL` is never
+    // unknown.
+    private boolean refersNilableField(Node node) {
+        if (node instanceof BinaryExpressionNode binaryExpressionNode &&
+                (isNilLiteral(binaryExpressionNode.lhsExpr()) || isNilLiteral(binaryExpressionNode.rhsExpr()))) {
+            return false;
+        }
+        if (node instanceof FieldAccessExpressionNode fieldAccessExpressionNode) {
+            ExpressionNode fieldAccessName = fieldAccessExpressionNode.expression();
+            if (this.isCaptureBindingPattern &&
+                    bindingVariableName.equals(fieldAccessName.toSourceCode().trim())) {
+                return isNilableField(fieldAccessExpressionNode.fieldName().toSourceCode().trim());
+            }
+            return referencesVariables(node, queryVariables);
+        }
+        if (node instanceof OptionalFieldAccessExpressionNode) {
+            return referencesVariables(node, queryVariables);
+        }
+        if (node instanceof SimpleNameReferenceNode simpleNameReferenceNode) {
+            String referencedName = stripEscapeCharacter(simpleNameReferenceNode.name().text());
+            if (letVariables.containsKey(referencedName)) {
+                ExpressionNode letExpression = letVariables.get(referencedName);
+                return letExpression == null || refersNilableField(letExpression);
+            }
+            return !this.isCaptureBindingPattern && fieldNames.contains(referencedName) &&
+                    isNilableField(referencedName);
+        }
+        if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                if (refersNilableField(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // The fields which are not simple types are not declared, hence considered nilable as well
+    private boolean isNilableField(String fieldName) {
+        String fieldDeclaration = fieldDeclarations == null ? null :
+                fieldDeclarations.get(stripEscapeCharacter(fieldName));
+        return fieldDeclaration == null ||
+                fieldDeclaration.substring(0, fieldDeclaration.lastIndexOf(Constants.SPACE)).endsWith("?");
+    }
+
+    private static ExpressionNode getMethodArgument(MethodCallExpressionNode methodCallExpressionNode)
+            throws NotSupportedExpressionException {
+        SeparatedNodeList<FunctionArgumentNode> arguments = methodCallExpressionNode.arguments();
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof PositionalArgumentNode argument)) {
+            throw new NotSupportedExpressionException("Unsupported method call.");
+        }
+        return argument.expression();
+    }
+
+    private static boolean isNilLiteral(Node node) {
+        return node.kind() == SyntaxKind.NIL_LITERAL;
+    }
+
     private void updateExpressionVisitor(String fieldName, ExpressionVisitor expressionVisitor) {
         expressionVisitor.beginVisitStoreVariable(fieldName);
         expressionVisitor.endVisitStoreVariable(fieldName);
@@ -144,6 +144,55 @@ public class ExpressionVisitor {
 
     }
 
+    /*Not*/
+    void beginVisitNot() {
+        this.expression.append(Constants.SQLKeyWords.NOT).append(Constants.SPACE);
+    }
+
+    void endVisitNot() {
+
+    }
+
+    /*Nil compare*/
+    void visitNilCompare(SyntaxKind operator) throws NotSupportedExpressionException {
+        switch (operator) {
+            case DOUBLE_EQUAL_TOKEN:
+                this.expression.append(Constants.SQLKeyWords.IS_NULL).append(Constants.SPACE);
+                break;
+            case NOT_EQUAL_TOKEN:
+                this.expression.append(Constants.SQLKeyWords.IS_NOT_NULL).append(Constants.SPACE);
+                break;
+            default:
+                throw new NotSupportedExpressionException(operator.stringValue() + " not supported!");
+        }
+    }
+
+    /*In*/
+    void beginVisitIn(boolean isNegated) {
+        if (isNegated) {
+            this.expression.append(Constants.SQLKeyWords.NOT).append(Constants.SPACE);
+        }
+        this.expression.append(Constants.SQLKeyWords.IN).append(Constants.SPACE)
+                .append(Constants.OPEN_BRACES_WITH_SPACE);
+    }
+
+    void visitInSeparator() {
+        this.expression.append(Constants.COMMA_WITH_SPACE);
+    }
+
+    void endVisitIn() {
+        this.expression.append(Constants.CLOSE_BRACES_WITH_SPACE);
+    }
+
+    /*Like*/
+    void beginVisitLike() {
+        this.expression.append(Constants.SQLKeyWords.LIKE).append(Constants.SPACE);
+    }
+
+    void endVisitLike() {
+        this.expression.append(Constants.SQLKeyWords.LIKE_ESCAPE).append(Constants.SPACE);
+    }
+
     public void beginVisitBraces() {
         this.expression.append(Constants.OPEN_BRACES_WITH_SPACE);
     }
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.persist.sql.compiler.expression;
+
+import io.ballerina.compiler.syntax.tree.AssignmentStatementNode;
+import io.ballerina.compiler.syntax.tree.BasicLiteralNode;
+import io.ballerina.compiler.syntax.tree.BracedExpressionNode;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.CheckExpressionNode;
+import io.ballerina.compiler.syntax.tree.ClientResourceAccessActionNode;
+import io.ballerina.compiler.syntax.tree.ComputedResourceAccessSegmentNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionStatementNode;
+import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
+import io.ballerina.compiler.syntax.tree.MappingConstructorExpressionNode;
+import io.ballerina.compiler.syntax.tree.MappingFieldNode;
+import io.ballerina.compiler.syntax.tree.NameReferenceNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeList;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
+import io.ballerina.compiler.syntax.tree.OptionalFieldAccessExpressionNode;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.QueryActionNode;
+import io.ballerina.compiler.syntax.tree.QueryPipelineNode;
+import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
+import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
+import io.ballerina.compiler.syntax.tree.SpecificFieldNode;
+import io.ballerina.compiler.syntax.tree.StatementNode;
+import io.ballerina.compiler.syntax.tree.UnaryExpressionNode;
+import io.ballerina.compiler.syntax.tree.WhereClauseNode;
+import io.ballerina.stdlib.persist.sql.compiler.Constants;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.stripEscapeCharacter;
+
+/**
+ * Builder class to translate a query action which updates each of the rows filtered by its where clauses, so that
+ * the rows are updated by a single `UPDATE` statement instead of being retrieved and updated one by one.
+ * <p>
+ * e.g. `check from var e in client->/products where e.age > value do { _ = check client->/products/[e.id].put(
+ * {age: 30}); };` is replaced by `_ = check client->/products.put({age: 30}, whereClause = ` Product.age > ${value}
+ * `);`, which requires the client to define a `put` resource of the entity with a `whereClause` parameter.
+ */
+public class UpdateBuilder {
+
+    private final QueryPipelineNode queryPipelineNode;
+    private final List<String> keyFields;
+    private final Collection<String> bulkUpdateResources;
+    private String bindingVariableName;
+    private String clientExpression;
+    private String resourceName;
+    private ExpressionNode updateValue;
+
+    public UpdateBuilder(QueryPipelineNode queryPipelineNode, List<String> keyFields,
+                         Collection<String> bulkUpdateResources) {
+        this.queryPipelineNode = queryPipelineNode;
+        this.keyFields = keyFields;
+        this.bulkUpdateResources = bulkUpdateResources;
+    }
+
+    /**
+     * Analyzes the query action and collects the update to be performed by the database.
+     *
+     * @return true if the query action can be replaced by a single update of the filtered rows
+     */
+    public boolean build() {
+        if (keyFields == null || keyFields.size() != 1 ||
+                !(queryPipelineNode.parent() instanceof QueryActionNode queryActionNode) ||
+                !(queryActionNode.parent() instanceof CheckExpressionNode checkExpressionNode) ||
+                !(checkExpressionNode.parent() instanceof ExpressionStatementNode) ||
+                !(queryPipelineNode.fromClause().typedBindingPattern().bindingPattern()
+                        instanceof CaptureBindingPatternNode bindingPattern)) {
+            return false;
+        }
+        bindingVariableName = stripEscapeCharacter(bindingPattern.variableName().text());
+
+        ExpressionNode expression = queryPipelineNode.fromClause().expression();
+        if (expression instanceof CheckExpressionNode checkExpr) {
+            expression = checkExpr.expression();
+        }
+        if (!(expression instanceof ClientResourceAccessActionNode fromAction) ||
+                fromAction.resourceAccessPath().size() != 1) {
+            return false;
+        }
+        clientExpression = fromAction.expression().toSourceCode().trim();
+        resourceName = fromAction.resourceAccessPath().get(0).toSourceCode().trim();
+        if (!bulkUpdateResources.contains(resourceName)) {
+            return false;
+        }
+
+        // The rows are only filtered by the where clauses, which are translated to SQL as a whole. The fields of
+        // the associations are not available to the update, as the associated entities are not joined
+        NodeList<IntermediateClauseNode> intermediateClauses = queryPipelineNode.intermediateClauses();
+        if (intermediateClauses.isEmpty()) {
+            return false;
+        }
+        for (IntermediateClauseNode intermediateClause : intermediateClauses) {
+            if (!(intermediateClause instanceof WhereClauseNode) || isAssociationReferred(intermediateClause)) {
+                return false;
+            }
+        }
+
+        NodeList<StatementNode> statements = queryActionNode.blockStatement().statements();
+        return statements.size() == 1 && addUpdate(statements.get(0));
+    }
+
+    /**
+     * Returns the statement which replaces the query action.
+     *
+     * @param whereClause the source code of the translated where clauses
+     * @return the source code of the statement
+     */
+    public String getUpdateStatement(String whereClause) {
+        return "_ = check " + clientExpression + "->/" + resourceName + ".put(" +
+                updateValue.toSourceCode().trim() + Constants.COMMA_WITH_SPACE + Constants.WHERE_CLAUSE + " = " +
+                whereClause + Constants.CLOSE_BRACES + Constants.SEMICOLON;
+    }
+
+    // Accepts `_ = check client->/resource/[e.key].put(value);` and `check client->/resource/[e.key].put(value);`
+    private boolean addUpdate(StatementNode statement) {
+        ExpressionNode expression;
+        if (statement instanceof AssignmentStatementNode assignmentStatementNode &&
+                assignmentStatementNode.varRef().toSourceCode().trim().equals(Constants.WILDCARD)) {
+            expression = assignmentStatementNode.expression();
+        } else if (statement instanceof ExpressionStatementNode expressionStatementNode) {
+            expression = expressionStatementNode.expression();
+        } else {
+            return false;
+        }
+        if (!(expression instanceof CheckExpressionNode checkExpressionNode) ||
+                !(checkExpressionNode.expression() instanceof ClientResourceAccessActionNode putAction) ||
+                !clientExpression.equals(putAction.expression().toSourceCode().trim()) ||
+                putAction.methodName().isEmpty() ||
+                !putAction.methodName().get().name().text().equals(Constants.PUT) ||
+                putAction.arguments().isEmpty()) {
+            return false;
+        }
+        SeparatedNodeList<Node> resourceAccessPath = putAction.resourceAccessPath();
+        if (resourceAccessPath.size() != 2 ||
+                !resourceName.equals(resourceAccessPath.get(0).toSourceCode().trim()) ||
+                !(resourceAccessPath.get(1) instanceof ComputedResourceAccessSegmentNode keySegment) ||
+                !isKeyField(keySegment.expression())) {
+            return false;
+        }
+        SeparatedNodeList<FunctionArgumentNode> arguments = putAction.arguments().get().arguments();
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof PositionalArgumentNode argument) ||
+                !(argument.expression() instanceof MappingConstructorExpressionNode mappingConstructor)) {
+            return false;
+        }
+        // The value is evaluated once instead of once per row, hence it must not depend on the row or have any
+        // side effects
+        for (MappingFieldNode field : mappingConstructor.fields()) {
+            if (!(field instanceof SpecificFieldNode specificFieldNode) ||
+                    !isConstantValue(specificFieldNode.valueExpr().isPresent() ?
+                            specificFieldNode.valueExpr().get() : specificFieldNode.fieldName())) {
+                return false;
+            }
+        }
+        updateValue = mappingConstructor;
+        return true;
+    }
+
+    private boolean isConstantValue(Node node) {
+        if (node instanceof BasicLiteralNode) {
+            return true;
+        }
+        if (node instanceof SimpleNameReferenceNode nameReferenceNode) {
+            return !isBindingVariable(nameReferenceNode);
+        }
+        if (node instanceof NameReferenceNode) {
+            return true;
+        }
+        if (node instanceof FieldAccessExpressionNode fieldAccess) {
+            return isConstantValue(fieldAccess.expression());
+        }
+        if (node instanceof UnaryExpressionNode unaryExpressionNode) {
+            return isConstantValue(unaryExpressionNode.expression());
+        }
+        if (node instanceof BracedExpressionNode bracedExpressionNode) {
+            return isConstantValue(bracedExpressionNode.expression());
+        }
+        // An identifier token, i.e. the name of a field in the shorthand form
+        return !(node instanceof NonTerminalNode) && !bindingVariableName.equals(
+                stripEscapeCharacter(node.toSourceCode().trim()));
+    }
+
+    private boolean isKeyField(ExpressionNode expression) {
+        return expression instanceof FieldAccessExpressionNode fieldAccess &&
+                isBindingVariable(fieldAccess.expression()) &&
+                keyFields.get(0).equals(stripEscapeCharacter(fieldAccess.fieldName().toSourceCode().trim()));
+    }
+
+    // Checks whether a field of an associated entity is accessed through the binding, e.g. `e.manufacture.id`
+    private boolean isAssociationReferred(Node node) {
+        ExpressionNode accessedExpression = null;
+        if (node instanceof FieldAccessExpressionNode fieldAccess) {
+            accessedExpression = fieldAccess.expression();
+        } else if (node instanceof OptionalFieldAccessExpressionNode fieldAccess) {
+            accessedExpression = fieldAccess.expression();
+        }
+        if ((accessedExpression instanceof FieldAccessExpressionNode relationAccess &&
+                isBindingVariable(relationAccess.expression())) ||
+                (accessedExpression instanceof OptionalFieldAccessExpressionNode optionalRelationAccess &&
+                        isBindingVariable(optionalRelationAccess.expression()))) {
+            return true;
+        }
+        if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                if (isAssociationReferred(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isBindingVariable(Node node) {
+        return node instanceof SimpleNameReferenceNode nameReferenceNode &&
+                bindingVariableName.equals(stripEscapeCharacter(nameReferenceNode.name().text()));
+    }
+}
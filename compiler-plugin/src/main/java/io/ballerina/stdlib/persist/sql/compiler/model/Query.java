@@ -18,12 +18,25 @@
 
 package io.ballerina.stdlib.persist.sql.compiler.model;
 
+import io.ballerina.compiler.syntax.tree.BindingPatternNode;
+import io.ballerina.compiler.syntax.tree.CaptureBindingPatternNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
 import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
 import io.ballerina.compiler.syntax.tree.IntermediateClauseNode;
+import io.ballerina.compiler.syntax.tree.LetClauseNode;
+import io.ballerina.compiler.syntax.tree.LetVariableDeclarationNode;
 import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
 import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.Token;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.stdlib.persist.sql.compiler.codemodifier.QueryCodeModifierTask.stripEscapeCharacter;
 
 /**
  * Model class to hold query properties.
@@ -39,6 +52,7 @@ public class Query {
     private final SeparatedNodeList<Node> path;
     private final String clientName;
     private String tableName;
+    private Set<String> referencedFields;
 
     public Query(String clientName, SeparatedNodeList<FunctionArgumentNode> arguments, SeparatedNodeList<Node> path) {
         this.clientName = clientName;
@@ -90,6 +104,37 @@ public class Query {
         return letClauseNodes;
     }
 
+    /**
+     * Returns the variables bound by the let clauses which precede the given clause, mapped to the expressions
+     * they are bound to. Variables bound by a binding pattern other than a capture binding pattern are mapped to
+     * null, as they cannot be substituted by an expression.
+     *
+     * @param clauseNode the clause in which the variables are referenced
+     * @return the let variables visible to the clause
+     */
+    public Map<String, ExpressionNode> getLetVariables(Node clauseNode) {
+        Map<String, ExpressionNode> letVariables = new HashMap<>();
+        if (letClauseNodes == null) {
+            return letVariables;
+        }
+        int clauseStartOffset = clauseNode.textRange().startOffset();
+        for (IntermediateClauseNode letClauseNode : letClauseNodes) {
+            if (letClauseNode.textRange().startOffset() > clauseStartOffset) {
+                continue;
+            }
+            for (LetVariableDeclarationNode declaration : ((LetClauseNode) letClauseNode).letVarDeclarations()) {
+                BindingPatternNode bindingPattern = declaration.typedBindingPattern().bindingPattern();
+                if (bindingPattern instanceof CaptureBindingPatternNode captureBindingPattern) {
+                    letVariables.put(stripEscapeCharacter(captureBindingPattern.variableName().text()),
+                            declaration.expression());
+                } else {
+                    addBoundNames(bindingPattern, letVariables);
+                }
+            }
+        }
+        return letVariables;
+    }
+
     public SeparatedNodeList<FunctionArgumentNode> getArguments() {
         return arguments;
     }
@@ -108,4 +153,31 @@ public class Query {
     public String getTableName() {
         return this.tableName;
     }
+
+    public void addReferencedFields(Set<String> referencedFields) {
+        this.referencedFields = referencedFields;
+    }
+
+    /**
+     * Returns the fields of the entity referenced by the query, if the query only refers to the entity through
+     * field accesses of a `var` binding.
+     *
+     * @return the referenced fields, or null if the selected fields cannot be narrowed
+     */
+    public Set<String> getReferencedFields() {
+        return this.referencedFields;
+    }
+
+    // Conservatively treats every identifier of a structured binding pattern as a bound variable
+    private static void addBoundNames(Node node, Map<String, ExpressionNode> letVariables) {
+        if (node instanceof Token token) {
+            if (token.kind() == SyntaxKind.IDENTIFIER_TOKEN) {
+                letVariables.put(stripEscapeCharacter(token.text()), null);
+            }
+        } else if (node instanceof NonTerminalNode nonTerminalNode) {
+            for (Node child : nonTerminalNode.children()) {
+                addBoundNames(child, letVariables);
+            }
+        }
+    }
 }
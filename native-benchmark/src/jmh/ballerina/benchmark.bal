@@ -0,0 +1,304 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/persist;
+import ballerina/sql;
+import ballerinax/java.jdbc;
+
+// The operations of the benchmark, which are called by the JMH harness through the Ballerina runtime. The entity
+// width is either `narrow` (4 fields) or `wide` (17 fields) and the include depth is the number of associations
+// read along with the items, i.e. none, the joined store, or the joined store and the batched reviews.
+
+const URL = "jdbc:h2:mem:persist_sql_benchmark;DB_CLOSE_DELAY=-1";
+const STORE_COUNT = 10;
+const REVIEWS_PER_ITEM = 2;
+// The records inserted by the batch insert benchmark are keyed from this offset, away from the seeded records
+const INSERT_KEY_OFFSET = 1000000000;
+
+isolated BenchmarkClient? benchmarkClient = ();
+isolated int insertedKey = INSERT_KEY_OFFSET;
+
+# Creates the tables of the benchmark in a new in-memory H2 database and seeds the given number of items of each
+# entity width.
+#
+# + rowCount - The number of items of each entity width
+# + return - An error if the database cannot be set up
+public function setUp(int rowCount) returns error? {
+    jdbc:Client dbClient = check new (URL);
+    _ = check dbClient->execute(`DROP ALL OBJECTS`);
+    _ = check dbClient->execute(`CREATE TABLE "Store" ("id" INT PRIMARY KEY, "name" VARCHAR(191) NOT NULL, "city" VARCHAR(191) NOT NULL)`);
+    _ = check dbClient->execute(`CREATE TABLE "Review" ("id" INT PRIMARY KEY, "itemId" INT NOT NULL, "rating" INT NOT NULL, "comment" VARCHAR(191) NOT NULL)`);
+    _ = check dbClient->execute(`CREATE INDEX "Review_itemId" ON "Review" ("itemId")`);
+    _ = check dbClient->execute(`CREATE TABLE "NarrowItem" ("id" INT PRIMARY KEY, "name" VARCHAR(191) NOT NULL, "price" DECIMAL(10, 2) NOT NULL, "storeId" INT NOT NULL)`);
+    _ = check dbClient->execute(`CREATE TABLE "WideItem" ("id" INT PRIMARY KEY, "name" VARCHAR(191) NOT NULL,
+        "description" VARCHAR(191) NOT NULL, "sku" VARCHAR(191) NOT NULL, "brand" VARCHAR(191) NOT NULL,
+        "color" VARCHAR(191) NOT NULL, "size" VARCHAR(191) NOT NULL, "material" VARCHAR(191) NOT NULL,
+        "origin" VARCHAR(191) NOT NULL, "price" DECIMAL(10, 2) NOT NULL, "cost" DECIMAL(10, 2) NOT NULL,
+        "weight" DOUBLE NOT NULL, "rating" DOUBLE NOT NULL, "stock" INT NOT NULL, "reorderLevel" INT NOT NULL,
+        "active" BOOLEAN NOT NULL, "storeId" INT NOT NULL)`);
+
+    sql:ParameterizedQuery[] stores = from int i in 0 ..< STORE_COUNT
+        select `INSERT INTO "Store" VALUES (${i}, ${string `Store ${i}`}, ${string `City ${i}`})`;
+    _ = check dbClient->batchExecute(stores);
+    sql:ParameterizedQuery[] reviews = from int i in 0 ..< rowCount * REVIEWS_PER_ITEM
+        select `INSERT INTO "Review" VALUES (${i}, ${i / REVIEWS_PER_ITEM}, ${i % 5}, ${string `Review ${i}`})`;
+    if reviews.length() > 0 {
+        _ = check dbClient->batchExecute(reviews);
+    }
+    check dbClient.close();
+
+    BenchmarkClient 'client = check new (URL);
+    _ = check 'client->/narrowitems.post(from int i in 0 ..< rowCount select getNarrowItem(i));
+    _ = check 'client->/wideitems.post(from int i in 0 ..< rowCount select getWideItem(i));
+    lock {
+        benchmarkClient = 'client;
+    }
+}
+
+# Closes the client of the benchmark.
+#
+# + return - An error if the client cannot be closed
+public function tearDown() returns error? {
+    check getClient().close();
+}
+
+# Reads all the items as a stream, i.e. the `query` native entry point.
+#
+# + width - The entity width, `narrow` or `wide`
+# + includeDepth - The number of associations read along with the items
+# + return - The number of items read or an error
+public function query(string width, int includeDepth) returns int|error {
+    BenchmarkClient 'client = getClient();
+    stream<record {}, persist:Error?> items = width == "narrow" ? queryNarrowItems('client, includeDepth)
+        : queryWideItems('client, includeDepth);
+    return countRecords(items);
+}
+
+# Reads all the items as a list, i.e. the `queryAsList` native entry point.
+#
+# + width - The entity width, `narrow` or `wide`
+# + includeDepth - The number of associations read along with the items
+# + return - The number of items read or an error
+public function queryAsList(string width, int includeDepth) returns int|error {
+    BenchmarkClient 'client = getClient();
+    if width == "narrow" {
+        match includeDepth {
+            0 => {
+                NarrowItem[] items = check 'client->/narrowitems/list;
+                return items.length();
+            }
+            1 => {
+                NarrowItemWithStore[] items = check 'client->/narrowitems/list;
+                return items.length();
+            }
+        }
+        NarrowItemWithStoreAndReviews[] items = check 'client->/narrowitems/list;
+        return items.length();
+    }
+    match includeDepth {
+        0 => {
+            WideItem[] items = check 'client->/wideitems/list;
+            return items.length();
+        }
+        1 => {
+            WideItemWithStore[] items = check 'client->/wideitems/list;
+            return items.length();
+        }
+    }
+    WideItemWithStoreAndReviews[] items = check 'client->/wideitems/list;
+    return items.length();
+}
+
+# Reads an item by its key, i.e. the `queryOne` native entry point.
+#
+# + width - The entity width, `narrow` or `wide`
+# + includeDepth - The number of associations read along with the item
+# + id - The key of the item
+# + return - The item or an error
+public function queryOne(string width, int includeDepth, int id) returns record {}|error {
+    BenchmarkClient 'client = getClient();
+    if width == "narrow" {
+        match includeDepth {
+            0 => {
+                NarrowItem item = check 'client->/narrowitems/[id];
+                return item;
+            }
+            1 => {
+                NarrowItemWithStore item = check 'client->/narrowitems/[id];
+                return item;
+            }
+        }
+        NarrowItemWithStoreAndReviews item = check 'client->/narrowitems/[id];
+        return item;
+    }
+    match includeDepth {
+        0 => {
+            WideItem item = check 'client->/wideitems/[id];
+            return item;
+        }
+        1 => {
+            WideItemWithStore item = check 'client->/wideitems/[id];
+            return item;
+        }
+    }
+    WideItemWithStoreAndReviews item = check 'client->/wideitems/[id];
+    return item;
+}
+
+# Reads all the items with a native SQL query, i.e. the `queryNativeSQL` native entry point.
+#
+# + width - The entity width, `narrow` or `wide`
+# + return - The number of items read or an error
+public function queryNativeSQL(string width) returns int|error {
+    BenchmarkClient 'client = getClient();
+    stream<record {}, persist:Error?> items = width == "narrow"
+        ? 'client->queryNativeSQL(`SELECT "id", "name", "price", "storeId" FROM "NarrowItem"`, NarrowItem)
+        : 'client->queryNativeSQL(`SELECT * FROM "WideItem"`, WideItem);
+    return countRecords(items);
+}
+
+# Updates an item with a native SQL statement, i.e. the `executeNativeSQL` native entry point.
+#
+# + width - The entity width, `narrow` or `wide`
+# + id - The key of the item
+# + return - An error if the item cannot be updated
+public function executeNativeSQL(string width, int id) returns error? {
+    BenchmarkClient 'client = getClient();
+    string name = string `Item ${id}`;
+    _ = width == "narrow"
+        ? check 'client->executeNativeSQL(`UPDATE "NarrowItem" SET "name" = ${name} WHERE "id" = ${id}`)
+        : check 'client->executeNativeSQL(`UPDATE "WideItem" SET "name" = ${name} WHERE "id" = ${id}`);
+}
+
+# Inserts a batch of new items, i.e. the batch insert of the `post` resource.
+#
+# + width - The entity width, `narrow` or `wide`
+# + batchSize - The number of items inserted
+# + return - An error if the items cannot be inserted
+public function batchInsert(string width, int batchSize) returns error? {
+    int startKey;
+    lock {
+        startKey = insertedKey;
+        insertedKey += batchSize;
+    }
+    BenchmarkClient 'client = getClient();
+    if width == "narrow" {
+        _ = check 'client->/narrowitems.post(from int i in startKey ..< startKey + batchSize
+            select getNarrowItem(i));
+    } else {
+        _ = check 'client->/wideitems.post(from int i in startKey ..< startKey + batchSize
+            select getWideItem(i));
+    }
+}
+
+# Deletes the items inserted by the batch insert benchmark, so that each iteration inserts into the seeded tables.
+#
+# + return - An error if the items cannot be deleted
+public function deleteInsertedItems() returns error? {
+    BenchmarkClient 'client = getClient();
+    _ = check 'client->executeNativeSQL(`DELETE FROM "NarrowItem" WHERE "id" >= ${INSERT_KEY_OFFSET}`);
+    _ = check 'client->executeNativeSQL(`DELETE FROM "WideItem" WHERE "id" >= ${INSERT_KEY_OFFSET}`);
+}
+
+// Runs each operation once over a few rows, which verifies the package without the JMH harness
+public function main() returns error? {
+    check setUp(10);
+    foreach string width in ["narrow", "wide"] {
+        foreach int includeDepth in 0 ... 2 {
+            io:println(string `${width}/${includeDepth}: query ${check query(width, includeDepth)}, `
+                + string `queryAsList ${check queryAsList(width, includeDepth)}, `
+                + string `queryOne ${(check queryOne(width, includeDepth, 1)).toString()}`);
+        }
+        io:println(string `${width}: queryNativeSQL ${check queryNativeSQL(width)}`);
+        check executeNativeSQL(width, 1);
+        check batchInsert(width, 10);
+    }
+    check deleteInsertedItems();
+    check tearDown();
+}
+
+isolated function queryNarrowItems(BenchmarkClient 'client, int includeDepth)
+        returns stream<record {}, persist:Error?> {
+    match includeDepth {
+        0 => {
+            return 'client->/narrowitems.get(NarrowItem);
+        }
+        1 => {
+            return 'client->/narrowitems.get(NarrowItemWithStore);
+        }
+    }
+    return 'client->/narrowitems.get(NarrowItemWithStoreAndReviews);
+}
+
+isolated function queryWideItems(BenchmarkClient 'client, int includeDepth)
+        returns stream<record {}, persist:Error?> {
+    match includeDepth {
+        0 => {
+            return 'client->/wideitems.get(WideItem);
+        }
+        1 => {
+            return 'client->/wideitems.get(WideItemWithStore);
+        }
+    }
+    return 'client->/wideitems.get(WideItemWithStoreAndReviews);
+}
+
+isolated function countRecords(stream<record {}, persist:Error?> records) returns int|error {
+    int count = 0;
+    check from record {} _ in records
+        do {
+            count += 1;
+        };
+    return count;
+}
+
+isolated function getClient() returns BenchmarkClient {
+    lock {
+        BenchmarkClient? 'client = benchmarkClient;
+        if 'client is () {
+            panic error("The benchmark is not set up.");
+        }
+        return 'client;
+    }
+}
+
+isolated function getNarrowItem(int id) returns NarrowItem => {
+    id,
+    name: string `Item ${id}`,
+    price: <decimal>(id % 100) + 0.99d,
+    storeId: id % STORE_COUNT
+};
+
+isolated function getWideItem(int id) returns WideItem => {
+    id,
+    name: string `Item ${id}`,
+    description: string `The description of the item ${id}`,
+    sku: string `SKU-${id}`,
+    brand: string `Brand ${id % 7}`,
+    color: "Blue",
+    size: "Medium",
+    material: "Cotton",
+    origin: "Sri Lanka",
+    price: <decimal>(id % 100) + 0.99d,
+    cost: <decimal>(id % 100) + 0.49d,
+    weight: <float>(id % 10) + 0.5,
+    rating: <float>(id % 5),
+    stock: id % 1000,
+    reorderLevel: 10,
+    active: id % 2 == 0,
+    storeId: id % STORE_COUNT
+};
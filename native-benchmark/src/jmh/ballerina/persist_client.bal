@@ -0,0 +1,173 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/persist;
+import ballerina/sql;
+import ballerinax/h2.driver as _;
+import ballerinax/java.jdbc;
+import ballerinax/persist.sql as psql;
+
+const NARROW_ITEM = "narrowitems";
+const WIDE_ITEM = "wideitems";
+
+// A client in the shape of the clients generated for the H2 data store, so that the reads and the writes of the
+// benchmark run through the native entry points and the `SQLClient` exactly as they do in an application.
+public isolated client class BenchmarkClient {
+    *persist:AbstractPersistClient;
+
+    private final jdbc:Client dbClient;
+
+    private final map<psql:SQLClient> persistClients;
+
+    private final record {|psql:SQLMetadata...;|} & readonly metadata = {
+        [NARROW_ITEM] : {
+            entityName: "NarrowItem",
+            tableName: "NarrowItem",
+            fieldMetadata: {
+                id: {columnName: "id"},
+                name: {columnName: "name"},
+                price: {columnName: "price"},
+                storeId: {columnName: "storeId"},
+                "store.id": {relation: {entityName: "store", refField: "id"}},
+                "store.name": {relation: {entityName: "store", refField: "name"}},
+                "store.city": {relation: {entityName: "store", refField: "city"}},
+                "reviews[].id": {relation: {entityName: "reviews", refField: "id"}},
+                "reviews[].itemId": {relation: {entityName: "reviews", refField: "itemId"}},
+                "reviews[].rating": {relation: {entityName: "reviews", refField: "rating"}},
+                "reviews[].comment": {relation: {entityName: "reviews", refField: "comment"}}
+            },
+            keyFields: ["id"],
+            joinMetadata: {
+                store: {entity: Store, fieldName: "store", refTable: "Store", refColumns: ["id"], joinColumns: ["storeId"], 'type: psql:ONE_TO_MANY},
+                reviews: {entity: Review, fieldName: "reviews", refTable: "Review", refColumns: ["itemId"], joinColumns: ["id"], 'type: psql:MANY_TO_ONE}
+            }
+        },
+        [WIDE_ITEM] : {
+            entityName: "WideItem",
+            tableName: "WideItem",
+            fieldMetadata: {
+                id: {columnName: "id"},
+                name: {columnName: "name"},
+                description: {columnName: "description"},
+                sku: {columnName: "sku"},
+                brand: {columnName: "brand"},
+                color: {columnName: "color"},
+                size: {columnName: "size"},
+                material: {columnName: "material"},
+                origin: {columnName: "origin"},
+                price: {columnName: "price"},
+                cost: {columnName: "cost"},
+                weight: {columnName: "weight"},
+                rating: {columnName: "rating"},
+                stock: {columnName: "stock"},
+                reorderLevel: {columnName: "reorderLevel"},
+                active: {columnName: "active"},
+                storeId: {columnName: "storeId"},
+                "store.id": {relation: {entityName: "store", refField: "id"}},
+                "store.name": {relation: {entityName: "store", refField: "name"}},
+                "store.city": {relation: {entityName: "store", refField: "city"}},
+                "reviews[].id": {relation: {entityName: "reviews", refField: "id"}},
+                "reviews[].itemId": {relation: {entityName: "reviews", refField: "itemId"}},
+                "reviews[].rating": {relation: {entityName: "reviews", refField: "rating"}},
+                "reviews[].comment": {relation: {entityName: "reviews", refField: "comment"}}
+            },
+            keyFields: ["id"],
+            joinMetadata: {
+                store: {entity: Store, fieldName: "store", refTable: "Store", refColumns: ["id"], joinColumns: ["storeId"], 'type: psql:ONE_TO_MANY},
+                reviews: {entity: Review, fieldName: "reviews", refTable: "Review", refColumns: ["itemId"], joinColumns: ["id"], 'type: psql:MANY_TO_ONE}
+            }
+        }
+    };
+
+    public isolated function init(string url) returns persist:Error? {
+        jdbc:Client|error dbClient = new (url = url);
+        if dbClient is error {
+            return <persist:Error>error(dbClient.message());
+        }
+        self.dbClient = dbClient;
+        self.persistClients = {
+            [NARROW_ITEM] : check new (dbClient, self.metadata.get(NARROW_ITEM), psql:H2_SPECIFICS),
+            [WIDE_ITEM] : check new (dbClient, self.metadata.get(WIDE_ITEM), psql:H2_SPECIFICS)
+        };
+    }
+
+    isolated resource function get narrowitems(NarrowItemTargetType targetType = <>, sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``, sql:ParameterizedQuery limitClause = ``, sql:ParameterizedQuery groupByClause = ``) returns stream<targetType, persist:Error?> = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "query"
+    } external;
+
+    isolated resource function get narrowitems/list(NarrowItemTargetType targetType = <>, sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``, sql:ParameterizedQuery limitClause = ``) returns targetType[]|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "queryAsList"
+    } external;
+
+    isolated resource function get narrowitems/[int id](NarrowItemTargetType targetType = <>) returns targetType|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "queryOne"
+    } external;
+
+    isolated resource function post narrowitems(NarrowItemInsert[] data) returns int[]|persist:Error {
+        psql:SQLClient sqlClient;
+        lock {
+            sqlClient = self.persistClients.get(NARROW_ITEM);
+        }
+        _ = check sqlClient.runBatchInsertQuery(data);
+        return from NarrowItemInsert inserted in data
+            select inserted.id;
+    }
+
+    isolated resource function get wideitems(WideItemTargetType targetType = <>, sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``, sql:ParameterizedQuery limitClause = ``, sql:ParameterizedQuery groupByClause = ``) returns stream<targetType, persist:Error?> = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "query"
+    } external;
+
+    isolated resource function get wideitems/list(WideItemTargetType targetType = <>, sql:ParameterizedQuery whereClause = ``, sql:ParameterizedQuery orderByClause = ``, sql:ParameterizedQuery limitClause = ``) returns targetType[]|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "queryAsList"
+    } external;
+
+    isolated resource function get wideitems/[int id](WideItemTargetType targetType = <>) returns targetType|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor",
+        name: "queryOne"
+    } external;
+
+    isolated resource function post wideitems(WideItemInsert[] data) returns int[]|persist:Error {
+        psql:SQLClient sqlClient;
+        lock {
+            sqlClient = self.persistClients.get(WIDE_ITEM);
+        }
+        _ = check sqlClient.runBatchInsertQuery(data);
+        return from WideItemInsert inserted in data
+            select inserted.id;
+    }
+
+    remote isolated function queryNativeSQL(sql:ParameterizedQuery sqlQuery, typedesc<record {}> rowType = <>) returns stream<rowType, persist:Error?> = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor"
+    } external;
+
+    remote isolated function executeNativeSQL(sql:ParameterizedQuery sqlQuery) returns psql:ExecutionResult|persist:Error = @java:Method {
+        'class: "io.ballerina.stdlib.persist.sql.datastore.H2Processor"
+    } external;
+
+    public isolated function close() returns persist:Error? {
+        error? result = self.dbClient.close();
+        if result is error {
+            return <persist:Error>error(result.message());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.org).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// The `NarrowItem` and the `WideItem` entities only differ in their width. Both of them are associated with a
+// `Store` (a join of the read query) and with the `Review`s of the item (a batched query per read).
+
+public type Store record {|
+    readonly int id;
+    string name;
+    string city;
+|};
+
+public type StoreOptionalized record {|
+    int id?;
+    string name?;
+    string city?;
+|};
+
+public type Review record {|
+    readonly int id;
+    int itemId;
+    int rating;
+    string comment;
+|};
+
+public type ReviewOptionalized record {|
+    int id?;
+    int itemId?;
+    int rating?;
+    string comment?;
+|};
+
+public type NarrowItem record {|
+    readonly int id;
+    string name;
+    decimal price;
+    int storeId;
+|};
+
+public type NarrowItemOptionalized record {|
+    int id?;
+    string name?;
+    decimal price?;
+    int storeId?;
+|};
+
+public type NarrowItemWithRelations record {|
+    *NarrowItemOptionalized;
+    StoreOptionalized store?;
+    ReviewOptionalized[] reviews?;
+|};
+
+public type NarrowItemTargetType typedesc<NarrowItemWithRelations>;
+
+public type NarrowItemInsert NarrowItem;
+
+public type WideItem record {|
+    readonly int id;
+    string name;
+    string description;
+    string sku;
+    string brand;
+    string color;
+    string size;
+    string material;
+    string origin;
+    decimal price;
+    decimal cost;
+    float weight;
+    float rating;
+    int stock;
+    int reorderLevel;
+    boolean active;
+    int storeId;
+|};
+
+public type WideItemOptionalized record {|
+    int id?;
+    string name?;
+    string description?;
+    string sku?;
+    string brand?;
+    string color?;
+    string size?;
+    string material?;
+    string origin?;
+    decimal price?;
+    decimal cost?;
+    float weight?;
+    float rating?;
+    int stock?;
+    int reorderLevel?;
+    boolean active?;
+    int storeId?;
+|};
+
+public type WideItemWithRelations record {|
+    *WideItemOptionalized;
+    StoreOptionalized store?;
+    ReviewOptionalized[] reviews?;
+|};
+
+public type WideItemTargetType typedesc<WideItemWithRelations>;
+
+public type WideItemInsert WideItem;
+
+// The read shapes of the benchmark, i.e. the entity alone and the entity with one or two of its associations
+type NarrowItemWithStore record {|
+    *NarrowItem;
+    Store store;
+|};
+
+type NarrowItemWithStoreAndReviews record {|
+    *NarrowItem;
+    Store store;
+    Review[] reviews;
+|};
+
+type WideItemWithStore record {|
+    *WideItem;
+    Store store;
+|};
+
+type WideItemWithStoreAndReviews record {|
+    *WideItem;
+    Store store;
+    Review[] reviews;
+|};
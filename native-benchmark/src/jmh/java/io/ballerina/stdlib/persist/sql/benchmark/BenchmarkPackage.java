@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.sql.benchmark;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+
+/**
+ * Runs the functions of the Ballerina benchmark package, whose client calls the native entry points of the H2 data
+ * store in the same way as a generated client does.
+ *
+ * @since 1.7.4
+ */
+final class BenchmarkPackage {
+
+    static final BString NARROW = StringUtils.fromString("narrow");
+    static final BString WIDE = StringUtils.fromString("wide");
+
+    private static final Module MODULE = new Module("benchmark", "persist_sql_benchmark", "0");
+
+    private final Runtime runtime;
+
+    BenchmarkPackage(long rowCount) {
+        runtime = Runtime.from(MODULE);
+        runtime.init();
+        runtime.start();
+        call("setUp", rowCount);
+    }
+
+    static BString getWidth(String width) {
+        return width.equals("narrow") ? NARROW : WIDE;
+    }
+
+    Object call(String functionName, Object... args) {
+        Object result = runtime.callFunction(MODULE, functionName, null, args);
+        if (result instanceof BError error) {
+            throw error;
+        }
+        return result;
+    }
+
+    void stop() {
+        call("tearDown");
+        runtime.stop();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.sql.benchmark;
+
+import io.ballerina.runtime.api.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the read entry points of the generated clients, i.e. `query`, `queryAsList` and `queryOne`, against an
+ * in-memory H2 database across the number of rows, the entity width and the number of included associations.
+ *
+ * @since 1.7.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark {
+
+    @Param({"10", "1000"})
+    public long rowCount;
+
+    @Param({"narrow", "wide"})
+    public String width;
+
+    @Param({"0", "1", "2"})
+    public long includeDepth;
+
+    private BenchmarkPackage benchmarkPackage;
+    private BString entityWidth;
+    private long key;
+
+    @Setup
+    public void setUp() {
+        benchmarkPackage = new BenchmarkPackage(rowCount);
+        entityWidth = BenchmarkPackage.getWidth(width);
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkPackage.stop();
+    }
+
+    @Benchmark
+    public Object query() {
+        return benchmarkPackage.call("query", entityWidth, includeDepth);
+    }
+
+    @Benchmark
+    public Object queryAsList() {
+        return benchmarkPackage.call("queryAsList", entityWidth, includeDepth);
+    }
+
+    @Benchmark
+    public Object queryOne() {
+        key = (key + 1) % rowCount;
+        return benchmarkPackage.call("queryOne", entityWidth, includeDepth, key);
+    }
+}
@@ -36,4 +36,5 @@ public final class Constants {
     public static final String SQL_QUERY_METHOD = "query";
     public static final String SQL_EXECUTE_METHOD = "execute";
     public static final String PERSIST_EXECUTION_RESULT = "ExecutionResult";
+    public static final String RUN_READ_BY_KEYS_QUERY_METHOD = "runReadByKeysQuery";
 }
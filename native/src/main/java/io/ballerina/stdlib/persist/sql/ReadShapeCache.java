@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.persist.sql;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static io.ballerina.stdlib.persist.Utils.getMetadata;
+import static io.ballerina.stdlib.persist.Utils.getRecordTypeWithKeyFields;
+
+/**
+ * This class caches the values derived from the target type of a read operation. They only depend on the target
+ * type and the entity, hence they are computed once per such pair instead of on every read.
+ *
+ * @since 1.7.4
+ */
+public final class ReadShapeCache {
+
+    private static final Map<ShapeKey, ReadShape> READ_SHAPES = new ConcurrentHashMap<>();
+    private static final Map<TypeKey, StreamType> STREAM_TYPES = new ConcurrentHashMap<>();
+    private static final Map<ShapeKey, BTypedesc> OPTIONAL_FIELD_TYPES = new ConcurrentHashMap<>();
+
+    private ReadShapeCache() {
+    }
+
+    /**
+     * Returns the values derived from the target type of a read operation of the given entity.
+     *
+     * @param recordType the target type of the read operation
+     * @param entity     the name of the entity
+     * @param keyFields  the key fields of the entity
+     * @return the cached values of the read shape
+     */
+    public static ReadShape getReadShape(RecordType recordType, String entity, BArray keyFields) {
+        ShapeKey shapeKey = new ShapeKey(recordType, entity + ":" + String.join(",", keyFields.getStringArray()));
+        return READ_SHAPES.computeIfAbsent(shapeKey, key -> createReadShape(recordType, keyFields));
+    }
+
+    /**
+     * Returns the `stream<recordType, ()>` type used for the streams of the given record type.
+     *
+     * @param recordType the constraint of the stream
+     * @return the cached stream type
+     */
+    public static StreamType getStreamType(RecordType recordType) {
+        return STREAM_TYPES.computeIfAbsent(new TypeKey(recordType),
+                key -> TypeCreator.createStreamType(recordType, PredefinedTypes.TYPE_NULL));
+    }
+
+    /**
+     * Returns the type descriptor of the given record type with the given fields added as optional fields.
+     *
+     * @param recordType the record type to which the fields are added
+     * @param fieldNames the names of the fields to be added
+     * @param creator    creates the type descriptor when it is not cached
+     * @return the cached type descriptor
+     */
+    public static BTypedesc getTypedescWithOptionalFields(RecordType recordType, String[] fieldNames,
+                                                          Supplier<BTypedesc> creator) {
+        return OPTIONAL_FIELD_TYPES.computeIfAbsent(new ShapeKey(recordType, String.join(",", fieldNames)),
+                key -> creator.get());
+    }
+
+    private static ReadShape createReadShape(RecordType recordType, BArray keyFields) {
+        RecordType recordTypeWithIdFields = getRecordTypeWithKeyFields(keyFields, recordType);
+        BArray[] metadata = getMetadata(recordType);
+        // The arrays are shared by all the reads of this shape, hence they are made immutable
+        for (BArray array : metadata) {
+            array.freezeDirect();
+        }
+        return new ReadShape(ValueCreator.createTypedescValue(recordTypeWithIdFields),
+                ValueCreator.createTypedescValue(TypeCreator.createArrayType(recordType)),
+                metadata[0], metadata[1], metadata[2]);
+    }
+
+    /**
+     * Represents the values derived from the target type of a read operation.
+     *
+     * @param targetTypeWithIdFields the target type with the key fields of the entity included
+     * @param rowsType               the array type of the target type
+     * @param fields                 the fields to be retrieved
+     * @param includes               the associations to be retrieved
+     * @param typeDescriptions       the type descriptions of the associations to be retrieved
+     */
+    public record ReadShape(BTypedesc targetTypeWithIdFields, BTypedesc rowsType, BArray fields, BArray includes,
+                            BArray typeDescriptions) {
+    }
+
+    // Types are compared by identity, as distinct record types may share the same name
+    private record TypeKey(Type type) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TypeKey other && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+    }
+
+    private record ShapeKey(Type type, String signature) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ShapeKey other && type == other.type && signature.equals(other.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(type) + signature.hashCode();
+        }
+    }
+}
@@ -20,6 +20,8 @@ package io.ballerina.stdlib.persist.sql;
 
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.utils.TypeUtils;
@@ -29,6 +31,9 @@ import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BTypedesc;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static io.ballerina.stdlib.persist.ErrorGenerator.getBasicPersistError;
 import static io.ballerina.stdlib.persist.sql.Constants.PERSIST_SQL_STREAM;
 import static io.ballerina.stdlib.persist.sql.ModuleUtils.getModule;
@@ -50,8 +55,7 @@ public class Utils {
     private static BStream createPersistSQLStreamValue(BTypedesc targetType, BObject persistSQLStream) {
         RecordType streamConstraint =
                 (RecordType) TypeUtils.getReferredType(targetType.getDescribingType());
-        return ValueCreator.createStreamValue(
-                TypeCreator.createStreamType(streamConstraint, PredefinedTypes.TYPE_NULL), persistSQLStream);
+        return ValueCreator.createStreamValue(ReadShapeCache.getStreamType(streamConstraint), persistSQLStream);
     }
 
     public static BStream createPersistSQLStreamValue(BStream sqlStream, BTypedesc targetType, BArray fields,
@@ -66,6 +70,26 @@ public class Utils {
         return getBasicPersistError(sqlError.getErrorMessage().toString());
     }
 
+    public static BTypedesc getTypedescWithOptionalFields(BTypedesc rowType, BArray fieldNames) {
+        // This method will return a `typedesc<record {}>` which has the given fields as optional `anydata` fields
+        RecordType recordType = (RecordType) TypeUtils.getImpliedType(rowType.getDescribingType());
+        String[] names = fieldNames.getStringArray();
+        return ReadShapeCache.getTypedescWithOptionalFields(recordType, names,
+                () -> createTypedescWithOptionalFields(recordType, names));
+    }
+
+    private static BTypedesc createTypedescWithOptionalFields(RecordType recordType, String[] fieldNames) {
+        Map<String, Field> fields = new LinkedHashMap<>(recordType.getFields());
+        for (String fieldName : fieldNames) {
+            fields.putIfAbsent(fieldName, TypeCreator.createField(PredefinedTypes.TYPE_ANYDATA, fieldName,
+                    SymbolFlags.OPTIONAL + SymbolFlags.PUBLIC));
+        }
+        RecordType recordTypeWithOptionalFields = TypeCreator.createRecordType(recordType.getName(),
+                recordType.getPackage(), recordType.getFlags(), fields, recordType.getRestFieldType(),
+                recordType.isSealed(), recordType.getTypeFlags());
+        return ValueCreator.createTypedescValue(recordTypeWithOptionalFields);
+    }
+
     public static BObject createPersistNativeSQLStream(BStream sqlStream, BError error) {
         return ValueCreator.createObjectValue(getModule(),
                 io.ballerina.stdlib.persist.sql.Constants.PERSIST_NATIVE_SQL_STREAM, sqlStream, error);
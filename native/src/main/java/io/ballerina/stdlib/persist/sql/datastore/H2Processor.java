@@ -43,6 +43,10 @@ public class H2Processor {
         return SQLProcessor.queryOne(env, client, path, targetType);
     }
 
+    public static Object queryMany(Environment env, BObject client, BArray keys, BTypedesc targetType) {
+        return SQLProcessor.queryMany(env, client, keys, targetType);
+    }
+
     public static Object executeNativeSQL(Environment env, BObject client, BObject paramSQLString) {
         return SQLProcessor.executeNativeSQL(env, client, paramSQLString);
     }
@@ -19,9 +19,7 @@
 package io.ballerina.stdlib.persist.sql.datastore;
 
 import io.ballerina.runtime.api.Environment;
-import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
@@ -32,17 +30,18 @@ import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.stdlib.persist.Constants;
+import io.ballerina.stdlib.persist.sql.ReadShapeCache;
+import io.ballerina.stdlib.persist.sql.ReadShapeCache.ReadShape;
 import io.ballerina.stdlib.persist.sql.Utils;
 
 import static io.ballerina.stdlib.persist.Constants.KEY_FIELDS;
 import static io.ballerina.stdlib.persist.ErrorGenerator.wrapError;
 import static io.ballerina.stdlib.persist.Utils.getEntity;
 import static io.ballerina.stdlib.persist.Utils.getKey;
-import static io.ballerina.stdlib.persist.Utils.getMetadata;
 import static io.ballerina.stdlib.persist.Utils.getPersistClient;
-import static io.ballerina.stdlib.persist.Utils.getRecordTypeWithKeyFields;
 import static io.ballerina.stdlib.persist.sql.Constants.DB_CLIENT;
 import static io.ballerina.stdlib.persist.sql.Constants.PERSIST_EXECUTION_RESULT;
+import static io.ballerina.stdlib.persist.sql.Constants.RUN_READ_BY_KEYS_QUERY_METHOD;
 import static io.ballerina.stdlib.persist.sql.Constants.SQL_EXECUTE_METHOD;
 import static io.ballerina.stdlib.persist.sql.Constants.SQL_QUERY_METHOD;
 import static io.ballerina.stdlib.persist.sql.ModuleUtils.getModule;
@@ -64,15 +63,11 @@ public class SQLProcessor {
         // This method will return `stream<targetType, persist:Error?>`
         BString entity = getEntity(env);
         BObject persistClient = getPersistClient(client, entity);
-        BArray keyFields = (BArray) persistClient.get(KEY_FIELDS);
-        RecordType recordType = (RecordType) targetType.getDescribingType();
-
-        RecordType recordTypeWithIdFields = getRecordTypeWithKeyFields(keyFields, recordType);
-        BTypedesc targetTypeWithIdFields = ValueCreator.createTypedescValue(recordTypeWithIdFields);
-        BArray[] metadata = getMetadata(recordType);
-        BArray fields = metadata[0];
-        BArray includes = metadata[1];
-        BArray typeDescriptions = metadata[2];
+        ReadShape readShape = getReadShape(entity, persistClient, targetType);
+        BTypedesc targetTypeWithIdFields = readShape.targetTypeWithIdFields();
+        BArray fields = readShape.fields();
+        BArray includes = readShape.includes();
+        BArray typeDescriptions = readShape.typeDescriptions();
         return env.yieldAndRun(() -> {
             try {
                 Object result = env.getRuntime().callMethod(
@@ -101,17 +96,12 @@ public class SQLProcessor {
         // This method will return `targetType[]|persist:Error`
         BString entity = getEntity(env);
         BObject persistClient = getPersistClient(client, entity);
-        BArray keyFields = (BArray) persistClient.get(KEY_FIELDS);
-        RecordType recordType = (RecordType) targetType.getDescribingType();
-
-        RecordType recordTypeWithIdFields = getRecordTypeWithKeyFields(keyFields, recordType);
-        BTypedesc targetTypeWithIdFields = ValueCreator.createTypedescValue(recordTypeWithIdFields);
-        BTypedesc rowsType = ValueCreator.createTypedescValue(TypeCreator.createArrayType(
-                targetType.getDescribingType()));
-        BArray[] metadata = getMetadata(recordType);
-        BArray fields = metadata[0];
-        BArray includes = metadata[1];
-        BArray typeDescriptions = metadata[2];
+        ReadShape readShape = getReadShape(entity, persistClient, targetType);
+        BTypedesc targetTypeWithIdFields = readShape.targetTypeWithIdFields();
+        BTypedesc rowsType = readShape.rowsType();
+        BArray fields = readShape.fields();
+        BArray includes = readShape.includes();
+        BArray typeDescriptions = readShape.typeDescriptions();
         return env.yieldAndRun(() -> {
             try {
                 return env.getRuntime().callMethod(
@@ -134,17 +124,11 @@ public class SQLProcessor {
         // This method will return `targetType|persist:Error`
         BString entity = getEntity(env);
         BObject persistClient = getPersistClient(client, entity);
-
-        BArray keyFields = (BArray) persistClient.get(KEY_FIELDS);
-        RecordType recordType = (RecordType) targetType.getDescribingType();
-
-        RecordType recordTypeWithIdFields = getRecordTypeWithKeyFields(keyFields, recordType);
-        BTypedesc targetTypeWithIdFields = ValueCreator.createTypedescValue(recordTypeWithIdFields);
-
-        BArray[] metadata = getMetadata(recordType);
-        BArray fields = metadata[0];
-        BArray includes = metadata[1];
-        BArray typeDescriptions = metadata[2];
+        ReadShape readShape = getReadShape(entity, persistClient, targetType);
+        BTypedesc targetTypeWithIdFields = readShape.targetTypeWithIdFields();
+        BArray fields = readShape.fields();
+        BArray includes = readShape.includes();
+        BArray typeDescriptions = readShape.typeDescriptions();
 
         Object key = getKey(env, path);
         return env.yieldAndRun(() -> {
@@ -155,7 +139,7 @@ public class SQLProcessor {
                         //      string[] fields = [], string[] include = [], typedesc<record {}>[] typeDescriptions = []
                         // )`
                         // which returns `record {}|persist:Error`
-                        getPersistClient(client, entity), Constants.RUN_READ_BY_KEY_QUERY_METHOD, null, targetType,
+                        persistClient, Constants.RUN_READ_BY_KEY_QUERY_METHOD, null, targetType,
                         targetTypeWithIdFields, key, fields, includes, typeDescriptions);
             } catch (BError bError) {
                 return wrapError(bError);
@@ -163,6 +147,39 @@ public class SQLProcessor {
         });
     }
 
+    static Object queryMany(Environment env, BObject client, BArray keys, BTypedesc targetType) {
+        // This method will return `psql:KeyedRecords|persist:Error`
+        BString entity = getEntity(env);
+        BObject persistClient = getPersistClient(client, entity);
+        ReadShape readShape = getReadShape(entity, persistClient, targetType);
+        BTypedesc targetTypeWithIdFields = readShape.targetTypeWithIdFields();
+        BTypedesc rowsType = readShape.rowsType();
+        BArray fields = readShape.fields();
+        BArray includes = readShape.includes();
+        BArray typeDescriptions = readShape.typeDescriptions();
+        return env.yieldAndRun(() -> {
+            try {
+                return env.getRuntime().callMethod(
+                        // Call `SQLClient.runReadByKeysQuery(
+                        //      typedesc<record {}[]> rowsType, typedesc<record {}> rowType,
+                        //      typedesc<record {}> rowTypeWithIdFields, anydata[] keys, string[] fields = [],
+                        //      string[] include = [], typedesc<record {}>[] typeDescriptions = []
+                        // )`
+                        // which returns `KeyedRecords|persist:Error`
+                        persistClient, RUN_READ_BY_KEYS_QUERY_METHOD, null, rowsType, targetType,
+                        targetTypeWithIdFields, keys, fields, includes, typeDescriptions);
+            } catch (BError bError) {
+                return wrapError(bError);
+            }
+        });
+    }
+
+    private static ReadShape getReadShape(BString entity, BObject persistClient, BTypedesc targetType) {
+        BArray keyFields = (BArray) persistClient.get(KEY_FIELDS);
+        RecordType recordType = (RecordType) targetType.getDescribingType();
+        return ReadShapeCache.getReadShape(recordType, entity.getValue(), keyFields);
+    }
+
     static BStream queryNativeSQL(Environment env, BObject client, BObject paramSQLString,
                                          BTypedesc targetType) {
         // This method will return `stream<targetType, persist:Error?>`
@@ -189,8 +206,8 @@ public class SQLProcessor {
                 BObject persistNativeStream = createPersistNativeSQLStream(sqlStream, null);
                 RecordType streamConstraint =
                         (RecordType) TypeUtils.getReferredType(targetType.getDescribingType());
-                return ValueCreator.createStreamValue(TypeCreator.createStreamType(streamConstraint,
-                        PredefinedTypes.TYPE_NULL), persistNativeStream);
+                return ValueCreator.createStreamValue(ReadShapeCache.getStreamType(streamConstraint),
+                        persistNativeStream);
             } catch (BError bError) {
                 return Utils.createPersistNativeSQLStream(null, bError);
             }